@@ -0,0 +1,37 @@
+import {TestBed} from '@angular/core/testing';
+import {HttpClientTestingModule, HttpTestingController} from '@angular/common/http/testing';
+
+import {PagedListService} from './paged-list.service';
+
+describe('PagedListService', () => {
+  let service: PagedListService;
+  let http: HttpTestingController;
+
+  beforeEach(() => {
+    TestBed.configureTestingModule({imports: [HttpClientTestingModule]});
+    service = TestBed.inject(PagedListService);
+    http = TestBed.inject(HttpTestingController);
+  });
+
+  it('follows keyset cursors until the last page', () => {
+    let customers: any[] = [];
+    service.getAllKeysetPages<any>('/api/customers', 'customers').subscribe(all => customers = all);
+
+    http.expectOne('/api/customers').flush({_embedded: {customers: [{id: 1}, {id: 2}]}, page: {next: 2}});
+    http.expectOne('/api/customers?after=2').flush({_embedded: {customers: [{id: 3}]}, page: {next: null}});
+
+    expect(customers.map(customer => customer.id)).toEqual([1, 2, 3]);
+    http.verify();
+  });
+
+  it('follows Spring Data REST next links until the last page', () => {
+    let carts: any[] = [];
+    service.getAllDataRestPages<any>('/api/carts', 'carts').subscribe(all => carts = all);
+
+    http.expectOne('/api/carts').flush({_embedded: {carts: [{id: 1}]}, _links: {next: {href: '/api/carts?page=1&size=50'}}});
+    http.expectOne('/api/carts?page=1&size=50').flush({_embedded: {carts: [{id: 2}]}, _links: {}});
+
+    expect(carts.map(cart => cart.id)).toEqual([1, 2]);
+    http.verify();
+  });
+});
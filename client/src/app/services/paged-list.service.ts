@@ -0,0 +1,38 @@
+import {Injectable} from '@angular/core';
+import {HttpClient} from "@angular/common/http";
+import {EMPTY, Observable} from "rxjs";
+import {expand, reduce} from "rxjs/operators";
+
+/**
+ * Paged List Service
+ * Fetches every page of a list endpoint, so a list is never cut off at the server's page size
+ *
+ * Custom controllers (/api/customers) page by keyset: page.next is the ?after= cursor of the next page.
+ * Spring Data REST resources (/api/carts) page by number: _links.next is the URL of the next page.
+ */
+@Injectable({
+  providedIn: 'root'
+})
+export class PagedListService {
+
+  constructor(private http: HttpClient) {
+  }
+
+  getAllKeysetPages<T>(url: string, key: string): Observable<T[]> {
+    return this.http.get<any>(url).pipe(
+      expand(response => response.page?.next != null
+        ? this.http.get<any>(url + (url.includes('?') ? '&' : '?') + 'after=' + response.page.next)
+        : EMPTY),
+      reduce((items: T[], response: any) => items.concat(response._embedded?.[key] ?? []), [] as T[])
+    );
+  }
+
+  getAllDataRestPages<T>(url: string, key: string): Observable<T[]> {
+    return this.http.get<any>(url).pipe(
+      expand(response => response._links?.next?.href
+        ? this.http.get<any>(response._links.next.href)
+        : EMPTY),
+      reduce((items: T[], response: any) => items.concat(response._embedded?.[key] ?? []), [] as T[])
+    );
+  }
+}
@@ -2,13 +2,12 @@ import {Component, OnInit} from '@angular/core';
 import {HttpClient} from '@angular/common/http';
 import {Router, ActivatedRoute} from '@angular/router';
 import {Observable, Subject, Subscription} from 'rxjs';
-import {map} from 'rxjs/operators';
 import {Excursion} from 'src/app/model/excursion';
 
 import {Cart} from 'src/app/model/cart';
-import {CartApiResponse} from 'src/app/model/cart-api-response';
 
 import {PurchaseDataService} from "../../services/purchase-data.service";
+import {PagedListService} from "../../services/paged-list.service";
 import {Vacation} from "../../model/vacation";
 
 import {ExcursionDto} from "../../model/dto/excursion-dto";
@@ -51,7 +50,8 @@ export class ExcursionDetailComponent implements OnInit {
     private http: HttpClient,
     private route: ActivatedRoute,
     private router: Router,
-    private purchaseDataService: PurchaseDataService
+    private purchaseDataService: PurchaseDataService,
+    private pagedList: PagedListService
   ) {
   }
 
@@ -69,11 +69,9 @@ export class ExcursionDetailComponent implements OnInit {
 
   }
 
+  // every page of carts, Spring Data REST returns them 50 at a time
   getCarts(): Observable<Cart[]> {
-    return this.http.get<CartApiResponse>(this.cartsUrl)
-      .pipe(
-        map(response => response._embedded.carts)
-      );
+    return this.pagedList.getAllDataRestPages<Cart>(this.cartsUrl, 'carts');
   }
 
   getExcursion(vacationId: number, excursionId: number): Observable<Excursion> {
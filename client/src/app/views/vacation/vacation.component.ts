@@ -9,13 +9,13 @@ import {map} from 'rxjs/operators';
 import {VacationApiResponse} from '../../model/vacation-api-reponse';
 import {Vacation} from '../../model/vacation';
 import {PurchaseDataService} from "../../services/purchase-data.service";
+import {PagedListService} from "../../services/paged-list.service";
 import {Customer} from "../../model/customer";
 import {Cart} from "../../model/cart";
 import {CartApiResponse} from "../../model/cart-api-response";
 import {CartDto} from "../../model/dto/cart-dto.model";
 import {StatusType} from "../../model/StatusType";
 import {CustomerDto} from "../../model/dto/customer-dto";
-import {CustomerApiResponse} from "../../model/customer-api-response";
 import {environment} from "../../../environments/environment";
 
 /**
@@ -54,6 +54,7 @@ export class VacationComponent implements OnInit {
 
   constructor(private http: HttpClient,
               private purchaseDataService: PurchaseDataService,
+              private pagedList: PagedListService,
               private sanitizer: DomSanitizer) { }
 
   ngOnInit(): void {
@@ -122,11 +123,9 @@ export class VacationComponent implements OnInit {
     return this.http.get<Customer>(this.customerUrl + "/" + idIn);
   }
 
+  // every page of customers, the newest one is on the last page
   getCustomers(): Observable<Customer[]> {
-    return this.http.get<CustomerApiResponse>(this.customerUrl)
-      .pipe(
-        map(response => response._embedded.customers)
-      )
+    return this.pagedList.getAllKeysetPages<Customer>(this.customerUrl, 'customers');
   }
 
   getAllCustomers(): Observable<CustomerDto[]> {
@@ -4,10 +4,9 @@ import { Component, OnInit, ChangeDetectorRef } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 
 import { Observable } from 'rxjs';
-import { map } from 'rxjs/operators';
 
 import { Customer } from 'src/app/model/customer';
-import { CustomerApiResponse } from 'src/app/model/customer-api-response';
+import {PagedListService} from "../../services/paged-list.service";
 import {environment} from "../../../environments/environment";
 
 @Component({
@@ -22,6 +21,7 @@ export class ViewCustomerComponent implements OnInit {
   customers: Customer[] = [];
 
   constructor(private http: HttpClient,
+    private pagedList: PagedListService,
     private cdr: ChangeDetectorRef) { }
 
   ngOnInit(): void {
@@ -32,11 +32,9 @@ export class ViewCustomerComponent implements OnInit {
     this.cdr.detectChanges()
   }
 
+  // every page of customers, the API returns them 100 at a time
   getCustomers(): Observable<Customer[]> {
-    return this.http.get<CustomerApiResponse>(this.customerUrl)
-        .pipe(
-          map(response => response._embedded.customers)
-        )
+    return this.pagedList.getAllKeysetPages<Customer>(this.customerUrl, 'customers');
   }
 
   deleteCustomer(id: number): void {
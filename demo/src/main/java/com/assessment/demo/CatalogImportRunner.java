@@ -0,0 +1,53 @@
+package com.assessment.demo;
+
+import com.assessment.demo.services.CatalogImportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Command line import: {@code java -jar app.jar --catalog.import.file=catalog.csv [--catalog.import.exit=true]}.
+ * Files ending in .csv are read as CSV, anything else as JSON / NDJSON.
+ */
+@Component
+@ConditionalOnProperty("catalog.import.file")
+public class CatalogImportRunner implements ApplicationRunner {
+
+    private final CatalogImportService catalogImportService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final boolean exitAfterImport;
+
+    public CatalogImportRunner(CatalogImportService catalogImportService, ConfigurableApplicationContext context,
+                               @Value("${catalog.import.file}") Path file,
+                               @Value("${catalog.import.exit:false}") boolean exitAfterImport) {
+        this.catalogImportService = catalogImportService;
+        this.context = context;
+        this.file = file;
+        this.exitAfterImport = exitAfterImport;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        // CatalogImportService logs the report
+        try (InputStream in = Files.newInputStream(file)) {
+            if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")) {
+                catalogImportService.importCsv(in);
+            } else {
+                catalogImportService.importJson(in);
+            }
+        }
+        if (exitAfterImport) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
@@ -7,7 +7,11 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class DemoApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(DemoApplication.class, args);
+		StartupTimingReport report = new StartupTimingReport();
+		SpringApplication application = new SpringApplication(DemoApplication.class);
+		application.setApplicationStartup(report.applicationStartup());
+		application.run(args);
+		report.ready();
 	}
 
 }
@@ -0,0 +1,97 @@
+package com.assessment.demo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.core.metrics.StartupStep;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * Logs how long each startup phase took once the application is ready: JVM launch up to main(),
+ * the Spring Boot phases (environment, context refresh including the web server, runners such as
+ * the data seeding, and the ApplicationReadyEvent loaders) and the slowest bean instantiations.
+ * Steps are recorded by the {@link BufferingApplicationStartup} installed in {@link DemoApplication}.
+ */
+final class StartupTimingReport {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimingReport.class);
+
+    private static final String BOOT_PREFIX = "spring.boot.application.";
+    private static final String CONTEXT_PREFIX = "spring.context.";
+    private static final String BEAN_STEP = "spring.beans.instantiate";
+    private static final int SLOWEST_BEANS = 5;
+    // every bean instantiation is a step, so leave room for a few thousand
+    private static final int CAPACITY = 10_000;
+
+    private final Instant mainStarted = Instant.now();
+    private final BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(CAPACITY);
+
+    BufferingApplicationStartup applicationStartup() {
+        return applicationStartup;
+    }
+
+    /**
+     * Logs the report and releases the recorded steps
+     */
+    void ready() {
+        StartupTimeline timeline = applicationStartup.drainBufferedTimeline();
+        Instant now = Instant.now();
+        Optional<Instant> jvmStarted = ProcessHandle.current().info().startInstant();
+
+        StringJoiner phases = new StringJoiner(", ");
+        jvmStarted.ifPresent(start -> phases.add("jvm=" + millis(start, mainStarted)));
+        List<TimelineEvent> topLevel = timeline.getEvents().stream()
+                .filter(event -> event.getStartupStep().getParentId() == null)
+                .sorted(Comparator.comparing(TimelineEvent::getStartTime))
+                .toList();
+        Instant previousEnd = mainStarted;
+        for (TimelineEvent event : topLevel) {
+            String name = event.getStartupStep().getName();
+            // runners are not a step of their own, they fill the gap between started and ready
+            if (name.equals(BOOT_PREFIX + "ready") && millis(previousEnd, event.getStartTime()) > 0) {
+                phases.add("runners=" + millis(previousEnd, event.getStartTime()));
+            }
+            phases.add(shortName(name) + "=" + event.getDuration().toMillis());
+            previousEnd = event.getEndTime();
+        }
+        phases.add("total=" + millis(jvmStarted.orElse(mainStarted), now));
+        logger.info("Startup phases (ms): {}", phases);
+
+        StringJoiner beans = new StringJoiner(", ");
+        timeline.getEvents().stream()
+                .filter(event -> event.getStartupStep().getName().equals(BEAN_STEP))
+                .sorted(Comparator.comparing(TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_BEANS)
+                .forEach(event -> beans.add(beanName(event.getStartupStep()) + "=" + event.getDuration().toMillis()));
+        logger.info("Slowest beans (ms, including their dependencies): {}", beans);
+    }
+
+    private static String shortName(String name) {
+        if (name.startsWith(BOOT_PREFIX)) {
+            return name.substring(BOOT_PREFIX.length());
+        }
+        return name.startsWith(CONTEXT_PREFIX) ? name.substring(CONTEXT_PREFIX.length()) : name;
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals("beanName")) {
+                // factory beans are instantiated as "&name"
+                return tag.getValue().startsWith("&") ? tag.getValue().substring(1) : tag.getValue();
+            }
+        }
+        return "?";
+    }
+
+    private static long millis(Instant from, Instant to) {
+        return Duration.between(from, to).toMillis();
+    }
+}
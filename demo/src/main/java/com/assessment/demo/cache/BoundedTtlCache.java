@@ -0,0 +1,217 @@
+package com.assessment.demo.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Small LRU cache bounded by entry count with a time-to-live per entry.
+ * Loads happen outside the lock; a generation counter keeps a load that raced with
+ * an invalidation from writing its (stale) result back into the cache.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class BoundedTtlCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BoundedTtlCache(String name, int maxSize, Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached value, or null when absent or expired
+     */
+    public V get(K key) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.isExpired(System.nanoTime())) {
+                entries.remove(key);
+                evictions.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Read-through lookup. Null results from the loader are not cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long loadGeneration;
+        lock.lock();
+        try {
+            V cached = get(key);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        } finally {
+            lock.unlock();
+        }
+
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            lock.lock();
+            try {
+                if (loadGeneration == generation) {
+                    putLocked(key, loaded);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Batched read-through lookup: cached values are returned as-is and all misses are
+     * resolved with a single call to {@code batchLoader}. Keys the loader does not
+     * return are absent from the result. Iteration order follows {@code keys}.
+     */
+    public Map<K, V> getAll(Collection<K> keys, Function<List<K>, Map<K, V>> batchLoader) {
+        Map<K, V> result = new LinkedHashMap<>();
+        List<K> missing = new ArrayList<>();
+        long loadGeneration;
+        lock.lock();
+        try {
+            for (K key : keys) {
+                V cached = get(key);
+                result.put(key, cached);
+                if (cached == null) {
+                    missing.add(key);
+                }
+            }
+            loadGeneration = generation;
+        } finally {
+            lock.unlock();
+        }
+
+        if (!missing.isEmpty()) {
+            Map<K, V> loaded = batchLoader.apply(missing);
+            lock.lock();
+            try {
+                for (K key : missing) {
+                    V value = loaded.get(key);
+                    result.put(key, value);
+                    if (value != null && loadGeneration == generation) {
+                        putLocked(key, value);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        result.values().removeIf(value -> value == null);
+        return result;
+    }
+
+    public void put(K key, V value) {
+        lock.lock();
+        try {
+            putLocked(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            generation++;
+            if (entries.remove(key) != null) {
+                invalidations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            generation++;
+            invalidations.add(entries.size());
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(name, size(), maxSize, hits.sum(), misses.sum(), evictions.sum(), invalidations.sum());
+    }
+
+    private void putLocked(K key, V value) {
+        long now = System.nanoTime();
+        entries.put(key, new Entry<>(value, now + ttlNanos));
+        if (entries.size() > maxSize) {
+            purgeExpired(now);
+        }
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<Entry<V>> values = entries.values().iterator();
+        while (values.hasNext()) {
+            if (values.next().isExpired(now)) {
+                values.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
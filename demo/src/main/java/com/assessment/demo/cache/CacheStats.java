@@ -0,0 +1,13 @@
+package com.assessment.demo.cache;
+
+/**
+ * Point-in-time counters of a {@link BoundedTtlCache}
+ */
+public record CacheStats(String name, int size, int maxSize, long hits, long misses, long evictions,
+                         long invalidations) {
+
+    public double hitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,75 @@
+package com.assessment.demo.cache;
+
+import java.util.Collection;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable open-addressing map from primitive long keys to values: no boxed keys, no entry
+ * objects, one probe in the common case. Built once from the values and their keys; later
+ * duplicates of a key replace earlier ones.
+ */
+public final class LongKeyMap<V> {
+
+    private final long[] keys;
+    private final Object[] values;
+    private final int mask;
+    private final int size;
+
+    private LongKeyMap(long[] keys, Object[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    public static <V> LongKeyMap<V> of(Collection<V> values, ToLongFunction<V> keyOf) {
+        // at most half full keeps probe sequences short
+        int capacity = Integer.highestOneBit(Math.max(2, values.size() * 2 - 1)) << 1;
+        long[] keys = new long[capacity];
+        Object[] slots = new Object[capacity];
+        int mask = capacity - 1;
+        int size = 0;
+        for (V value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("null values are not supported");
+            }
+            long key = keyOf.applyAsLong(value);
+            int slot = slot(key, mask);
+            while (slots[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (slots[slot] == null) {
+                size++;
+            }
+            keys[slot] = key;
+            slots[slot] = value;
+        }
+        return new LongKeyMap<>(keys, slots, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = slot(key, mask);
+        Object value;
+        while ((value = values[slot]) != null) {
+            if (keys[slot] == key) {
+                return (V) value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Fibonacci hashing spreads sequential ids over the table
+    private static int slot(long key, int mask) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,81 @@
+package com.assessment.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+//Routes read-only transactions to the replicas in app.datasource.routing.replicas[n].
+//Spring Data repository reads and @Transactional(readOnly = true) services go to a replica,
+//everything else (checkout, customer writes) stays on spring.datasource.
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class DataSourceRoutingConfig {
+
+    //Bound to spring.datasource.hikari.* like the pool Boot would have created (pool size, timeouts, ...)
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties primaryProperties) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean(autowireCandidate = false, destroyMethod = "close")
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties primaryProperties,
+                                                        RoutingDataSourceProperties routing,
+                                                        Environment environment) {
+        Binder binder = Binder.get(environment);
+        List<DataSource> replicas = new ArrayList<>();
+        for (RoutingDataSourceProperties.Replica replica : routing.replicas()) {
+            replicas.add(replicaDataSource(replica, replicas.size(), primaryProperties, binder));
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource(primaryProperties), replicas,
+                routing.healthCheckInterval(), routing.validationTimeout());
+    }
+
+    // replica pools take the same spring.datasource.hikari.* settings as the primary's
+    static HikariDataSource replicaDataSource(RoutingDataSourceProperties.Replica replica, int index,
+                                              DataSourceProperties primaryProperties, Binder binder) {
+        HikariDataSource dataSource = new HikariDataSource();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("replica-" + index);
+        dataSource.setJdbcUrl(replica.url());
+        dataSource.setUsername(replica.username() != null ? replica.username() : primaryProperties.determineUsername());
+        dataSource.setPassword(replica.password() != null ? replica.password() : primaryProperties.determinePassword());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties primaryProperties, RoutingDataSourceProperties routing,
+                                 Environment environment) {
+        return new LazyConnectionDataSourceProxy(routingDataSource(primaryProperties, routing, environment));
+    }
+
+    //Open-in-view keeps one EntityManager per request and Hibernate holds its connection across transactions
+    //by default, so a write after a read-only lookup would run on the replica connection. Releasing it at the
+    //end of each transaction lets the next one be routed on its own read-only flag.
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
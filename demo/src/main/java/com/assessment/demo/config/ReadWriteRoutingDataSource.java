@@ -0,0 +1,154 @@
+package com.assessment.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out replica connections inside read-only transactions and primary connections otherwise.
+ * Replicas are picked round-robin among the healthy ones; a replica that fails to connect is marked
+ * down and the next one (finally the primary) is tried. A background check marks replicas up again.
+ * <p>
+ * The read-only flag is only known once the transaction has started, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Target> replicas;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                      Duration healthCheckInterval, Duration validationTimeout) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Target::new).toList();
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+        if (this.replicas.isEmpty() || healthCheckInterval.isZero()) {
+            this.healthChecker = null;
+        } else {
+            this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-health");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = healthCheckInterval.toMillis();
+            healthChecker.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /**
+     * Validates every replica and updates its health flag
+     */
+    public void checkReplicas() {
+        for (Target replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.setHealthy(connection.isValid(validationTimeoutSeconds));
+            } catch (SQLException e) {
+                replica.setHealthy(false);
+            }
+        }
+    }
+
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        closeQuietly(primary);
+        replicas.forEach(replica -> closeQuietly(replica.dataSource));
+    }
+
+    private Connection connect(Connector connector) throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Connection connection = replicaConnection(connector);
+            if (connection != null) {
+                return connection;
+            }
+        }
+        return connector.connect(primary);
+    }
+
+    // null when no replica could hand out a connection
+    private Connection replicaConnection(Connector connector) {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Target replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return connector.connect(replica.dataSource);
+            } catch (SQLException e) {
+                replica.setHealthy(false);
+            }
+        }
+        return null;
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close data source", e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Target {
+
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Target(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        void setHealthy(boolean healthy) {
+            if (this.healthy != healthy) {
+                logger.warn("Read replica {} is now {}", dataSource, healthy ? "up" : "down, reads fall back");
+            }
+            this.healthy = healthy;
+        }
+    }
+}
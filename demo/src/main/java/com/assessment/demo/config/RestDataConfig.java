@@ -24,9 +24,7 @@ public class RestDataConfig implements RepositoryRestConfigurer {
         Vacation.class
         );
 
-        // configure CORS
-        config.setDefaultPageSize(Integer.MAX_VALUE);
-        config.setMaxPageSize(Integer.MAX_VALUE);
+        // page sizes come from spring.data.rest.default-page-size / max-page-size
 
     }
 }
@@ -0,0 +1,20 @@
+package com.assessment.demo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas for {@link ReadWriteRoutingDataSource}. Replica credentials default to the primary's.
+ */
+@ConfigurationProperties("app.datasource.routing")
+public record RoutingDataSourceProperties(boolean enabled,
+                                          @DefaultValue List<Replica> replicas,
+                                          @DefaultValue("5s") Duration healthCheckInterval,
+                                          @DefaultValue("2s") Duration validationTimeout) {
+
+    public record Replica(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.assessment.demo.config;
+
+import com.assessment.demo.messaging.AwsSqsTransport;
+import com.assessment.demo.messaging.BatchingSqsSender;
+import com.assessment.demo.messaging.SqsTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.regions.Region;
+
+//With aws.sqs.enabled=true, booking messages go to aws.sqs.queue.url through a BatchingSqsSender
+//on the non-blocking SQS client; without it SqsService skips sends.
+@Configuration
+@ConditionalOnProperty(name = "aws.sqs.enabled", havingValue = "true")
+@EnableConfigurationProperties(SqsSenderProperties.class)
+public class SqsSenderConfig {
+
+    @Bean(destroyMethod = "close")
+    public AwsSqsTransport sqsTransport(@Value("${aws.sqs.queue.url}") String queueUrl,
+                                        @Value("${aws.sqs.region:us-east-1}") String region) {
+        return new AwsSqsTransport(queueUrl, Region.of(region));
+    }
+
+    @Bean(destroyMethod = "close")
+    public BatchingSqsSender batchingSqsSender(SqsTransport sqsTransport, SqsSenderProperties properties) {
+        return new BatchingSqsSender(sqsTransport, properties);
+    }
+}
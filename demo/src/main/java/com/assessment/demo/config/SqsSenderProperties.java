@@ -0,0 +1,24 @@
+package com.assessment.demo.config;
+
+import com.assessment.demo.messaging.OverflowPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Buffering, batching and retry settings of {@link com.assessment.demo.messaging.BatchingSqsSender}.
+ */
+@ConfigurationProperties("aws.sqs.sender")
+public record SqsSenderProperties(@DefaultValue("10000") int capacity,
+                                  @DefaultValue("10") int batchSize,
+                                  @DefaultValue("20ms") Duration linger,
+                                  @DefaultValue("block") OverflowPolicy overflow,
+                                  @DefaultValue("1s") Duration blockTimeout,
+                                  @DefaultValue("sqs-spill.log") Path spillFile,
+                                  @DefaultValue("5") int maxAttempts,
+                                  @DefaultValue("100ms") Duration retryBackoff,
+                                  @DefaultValue("5s") Duration maxRetryBackoff,
+                                  @DefaultValue("16") int maxInFlight) {
+}
@@ -0,0 +1,98 @@
+package com.assessment.demo.controllers;
+
+import com.assessment.demo.cache.CacheStats;
+import com.assessment.demo.dto.CatalogImportReport;
+import com.assessment.demo.dto.TableVersion;
+import com.assessment.demo.messaging.SqsSenderStats;
+import com.assessment.demo.services.CatalogCache;
+import com.assessment.demo.services.CatalogImportService;
+import com.assessment.demo.services.CatalogSnapshots;
+import com.assessment.demo.services.OrderLookupService;
+import com.assessment.demo.services.OutboxRelay;
+import com.assessment.demo.services.ReferenceDataRegistry;
+import com.assessment.demo.services.SqsService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
+    private final CatalogCache catalogCache;
+    private final CatalogImportService catalogImportService;
+    private final OrderLookupService orderLookupService;
+    private final SqsService sqsService;
+    private final ReferenceDataRegistry referenceData;
+    private final CatalogSnapshots catalogSnapshots;
+    private final OutboxRelay outboxRelay;
+
+    @Autowired
+    public AdminController(CatalogCache catalogCache, CatalogImportService catalogImportService,
+                           OrderLookupService orderLookupService, SqsService sqsService,
+                           ReferenceDataRegistry referenceData, CatalogSnapshots catalogSnapshots,
+                           OutboxRelay outboxRelay) {
+        this.catalogCache = catalogCache;
+        this.catalogImportService = catalogImportService;
+        this.orderLookupService = orderLookupService;
+        this.sqsService = sqsService;
+        this.referenceData = referenceData;
+        this.catalogSnapshots = catalogSnapshots;
+        this.outboxRelay = outboxRelay;
+    }
+
+    // POST after changing countries or divisions in the database; they are otherwise only read at startup
+    @PostMapping(value = "/reference-data/reload", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, TableVersion>> reloadReferenceData() {
+        Map<String, TableVersion> versions = referenceData.reload();
+        catalogSnapshots.invalidateReferenceData();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(versions);
+    }
+
+    // GET SQS send buffer depth, batch sizes and send latency; 404 when SQS is disabled
+    @GetMapping(value = "/sqs", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<SqsSenderStats> getSqsStats() {
+        return sqsService.stats()
+                .map(stats -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(stats))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // POST once the cause of parked booking events is fixed; they are retried with a fresh set of attempts
+    @PostMapping(value = "/outbox/redrive", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Integer>> redriveOutbox() {
+        int redriven = outboxRelay.redriveParked();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(Map.of("redriven", redriven));
+    }
+
+    // GET hit/miss/eviction counters of the catalog and order caches
+    @GetMapping(value = "/cache", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<CacheStats>> getCacheStats() {
+        List<CacheStats> stats = new ArrayList<>(catalogCache.stats());
+        stats.add(orderLookupService.stats());
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(stats);
+    }
+
+    // POST bulk import of vacations with their excursions; the body is streamed, not buffered
+    @PostMapping(value = "/import/catalog", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON, CSV},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> importCatalog(HttpServletRequest request) throws IOException {
+        try {
+            CatalogImportReport report = request.getContentType().startsWith(CSV)
+                    ? catalogImportService.importCsv(request.getInputStream())
+                    : catalogImportService.importJson(request.getInputStream());
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
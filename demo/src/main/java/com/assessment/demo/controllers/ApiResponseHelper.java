@@ -1,6 +1,16 @@
 package com.assessment.demo.controllers;
 
-import java.util.HashMap;
+import com.assessment.demo.dto.PriceFacet;
+import com.assessment.demo.services.JsonSnapshot;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public final class ApiResponseHelper {
@@ -8,11 +18,44 @@ public final class ApiResponseHelper {
     private ApiResponseHelper() {}
 
     public static Map<String, Object> wrapEmbedded(String key, Object value) {
-        Map<String, Object> response = new HashMap<>();
-        Map<String, Object> embedded = new HashMap<>();
-        embedded.put(key, value);
-        response.put("_embedded", embedded);
+        return Map.of("_embedded", Map.of(key, value));
+    }
+
+    // price search envelope: the matching page, the total in range and per-bucket counts
+    public static Map<String, Object> wrapPriceSearch(String key, List<?> items, int total, List<PriceFacet> facets) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("_embedded", Map.of(key, items));
+        response.put("total", total);
+        response.put("facets", Map.of("price", facets));
         return response;
     }
-}
 
+    public static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    // writes a pre-serialized body as-is, either the plain or the gzip variant
+    public static ResponseEntity<Object> snapshot(JsonSnapshot snapshot, boolean gzip) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return builder.body(snapshot.json());
+    }
+
+    // 304 response; the validators were already written by WebRequest.checkNotModified
+    public static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
+    // single entity response validated by its id and last_update
+    public static <T> ResponseEntity<T> conditional(WebRequest request, String name, Long id, Date lastUpdate, T body) {
+        long lastModified = lastUpdate != null ? lastUpdate.getTime() : -1;
+        if (request.checkNotModified("\"" + name + "-" + id + "-" + lastModified + "\"", lastModified)) {
+            return notModified();
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -1,52 +1,123 @@
 package com.assessment.demo.controllers;
 
+import com.assessment.demo.dto.BulkPurchaseResult;
+import com.assessment.demo.dto.CheckoutStatus;
 import com.assessment.demo.dto.Purchase;
 import com.assessment.demo.dto.PurchaseResponse;
+import com.assessment.demo.dto.Quote;
+import com.assessment.demo.services.AsyncCheckoutService;
+import com.assessment.demo.services.BulkCheckoutService;
 import com.assessment.demo.services.CheckoutService;
-import com.assessment.demo.services.SqsService;
+import com.assessment.demo.services.IdempotencyService;
+import com.assessment.demo.services.PricingEngine;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
 @CrossOrigin("http://localhost:4200")
 @RestController
 @RequestMapping("/api/checkout")
 public class CheckoutController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final CheckoutService checkoutService;
-    private final SqsService sqsService;
+    private final AsyncCheckoutService asyncCheckoutService;
+    private final BulkCheckoutService bulkCheckoutService;
+    private final IdempotencyService idempotencyService;
+    private final PricingEngine pricingEngine;
 
     @Autowired
-    public CheckoutController(CheckoutService checkoutService, SqsService sqsService) {
+    public CheckoutController(CheckoutService checkoutService, AsyncCheckoutService asyncCheckoutService,
+                              BulkCheckoutService bulkCheckoutService, IdempotencyService idempotencyService,
+                              PricingEngine pricingEngine) {
         this.checkoutService = checkoutService;
-        this.sqsService = sqsService;
+        this.asyncCheckoutService = asyncCheckoutService;
+        this.bulkCheckoutService = bulkCheckoutService;
+        this.idempotencyService = idempotencyService;
+        this.pricingEngine = pricingEngine;
+    }
+
+    // POST a purchase to get its server-side price without placing the order
+    @PostMapping(value = "/quote", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Quote> quote(@RequestBody Purchase purchase) {
+        try {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(pricingEngine.quote(purchase));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     //takes a Purchase and places an order in the checkout, giving a PurchaseResponse
+    //in async mode the order is only queued: 202 with the tracking number, progress at /status/{trackingNumber}
+    //a repeated Idempotency-Key gets the original response back instead of a second order
     @PostMapping("/purchase")
-    public PurchaseResponse placeOrder(@RequestBody Purchase purchase) {
-        PurchaseResponse response = checkoutService.placeOrder(purchase);
-        
-        // Send booking notification to SQS (optional - won't break if SQS is not configured)
+    public ResponseEntity<PurchaseResponse> placeOrder(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                       @RequestBody Purchase purchase) {
+        boolean async = asyncCheckoutService.isEnabled();
+        IdempotencyService.Outcome outcome;
         try {
-            String customerName = purchase.getCustomer().getFirstName() + " " + 
-                                 purchase.getCustomer().getLastName();
-            String vacationTitle = purchase.getCart().getCartItems().isEmpty() 
-                ? "N/A" 
-                : "Vacation Package"; // Simplified - adjust based on your cart structure
-            
-            String message = sqsService.formatBookingMessage(
-                response.getOrderTrackingNumber(),
-                customerName,
-                vacationTitle,
-                purchase.getCart().getPackagePrice()
-            );
-            
-            sqsService.sendBookingMessage(message);
-        } catch (Exception e) {
-            // Log but don't fail the order if SQS fails
-            System.err.println("Failed to send SQS notification (non-critical): " + e.getMessage());
+            outcome = idempotencyKey == null
+                    ? new IdempotencyService.Outcome(place(purchase, async), false)
+                    : idempotencyService.execute(idempotencyKey, () -> place(purchase, async));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RejectedExecutionException e) {
+            // queue full: ask the client to come back instead of piling up requests
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        PurchaseResponse response = outcome.response();
+
+        ResponseEntity.BodyBuilder builder = async
+                ? ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .header(HttpHeaders.LOCATION, "/api/checkout/status/" + response.getOrderTrackingNumber())
+                : ResponseEntity.ok();
+        if (outcome.replayed()) {
+            builder.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return builder.body(response);
+    }
+
+    // POST many purchases at once (agency / partner bookings): one result per purchase, in request order,
+    // with its tracking number or why it failed; a failing purchase does not undo the others
+    @PostMapping(value = "/purchases", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> placeOrders(@RequestBody List<Purchase> purchases) {
+        if (purchases.isEmpty() || purchases.size() > bulkCheckoutService.maxSize()) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<BulkPurchaseResult> results = bulkCheckoutService.placeOrders(purchases);
+        long ordered = results.stream().filter(result -> result.error() == null).count();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("ordered", ordered);
+        response.put("failed", results.size() - ordered);
+        response.put("results", results);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(response);
+    }
+
+    // GET pending / ordered / failed for a tracking number
+    @GetMapping(value = "/status/{trackingNumber}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CheckoutStatus> getStatus(@PathVariable String trackingNumber) {
+        return asyncCheckoutService.status(trackingNumber)
+                .map(status -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(status))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private PurchaseResponse place(Purchase purchase, boolean async) {
+        if (!async) {
+            return checkoutService.placeOrder(purchase);
         }
-        
-        return response;
+        return asyncCheckoutService.submit(purchase)
+                .map(status -> new PurchaseResponse(status.orderTrackingNumber()))
+                .orElseThrow(() -> new RejectedExecutionException("Checkout queue is full"));
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,16 @@
 package com.assessment.demo.controllers;
 
-import com.assessment.demo.dao.CountryRepository;
+import com.assessment.demo.dto.KeysetPage;
+import com.assessment.demo.dto.TableVersion;
 import com.assessment.demo.entities.Country;
+import com.assessment.demo.services.CatalogSnapshots;
+import com.assessment.demo.services.ReferenceDataRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -13,23 +18,56 @@ import java.util.List;
 @RequestMapping("/api/countries")
 public class CountryController {
 
-    private final CountryRepository countryRepository;
+    private final ReferenceDataRegistry referenceData;
+    private final CatalogSnapshots catalogSnapshots;
+    private final KeysetPagination keysetPagination;
 
     @Autowired
-    public CountryController(CountryRepository countryRepository) {
-        this.countryRepository = countryRepository;
+    public CountryController(ReferenceDataRegistry referenceData, CatalogSnapshots catalogSnapshots,
+                             KeysetPagination keysetPagination) {
+        this.referenceData = referenceData;
+        this.catalogSnapshots = catalogSnapshots;
+        this.keysetPagination = keysetPagination;
     }
 
+    // countries and divisions are answered from ReferenceDataRegistry, never from the database
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Object> getAllCountries() {
-        List<Country> countries = countryRepository.findAll();
+    public ResponseEntity<Object> getAllCountries(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                  @RequestParam(required = false) Long after,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  WebRequest request) {
+        boolean paged = after != null || limit != null;
+        boolean gzip = !paged && catalogSnapshots.isEnabled() && ApiResponseHelper.acceptsGzip(acceptEncoding);
+        TableVersion version = referenceData.countriesVersion();
+        if (request.checkNotModified(version.eTag("countries", gzip), version.lastModified())) {
+            return ApiResponseHelper.notModified();
+        }
+        if (paged) {
+            KeysetPage page = keysetPagination.page(after, limit);
+            List<Country> countries = referenceData.countriesAfter(page.after(), page.limit());
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                    .body(keysetPagination.wrapEmbedded("countries", countries, page, Country::getId));
+        }
+        if (catalogSnapshots.isEnabled()) {
+            return ApiResponseHelper.snapshot(catalogSnapshots.countries(version), gzip);
+        }
+        List<Country> countries = referenceData.countries();
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(ApiResponseHelper.wrapEmbedded("countries", countries));
     }
 
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Country> getCountryById(@PathVariable Long id) {
-        return countryRepository.findById(id)
-                .map(c -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(c))
+    public ResponseEntity<Country> getCountryById(@PathVariable Long id, WebRequest request) {
+        return referenceData.findCountry(id)
+                .map(c -> ApiResponseHelper.conditional(request, "country", id, c.getLast_update(), c))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // GET a country's divisions ordered by name, e.g. for the customer form's division dropdown
+    @GetMapping(value = "/{id}/divisions", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> getDivisionsOfCountry(@PathVariable Long id) {
+        return referenceData.findDivisionsOfCountry(id)
+                .<ResponseEntity<Object>>map(divisions -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                        .body(ApiResponseHelper.wrapEmbedded("divisions", divisions)))
                 .orElse(ResponseEntity.notFound().build());
     }
 }
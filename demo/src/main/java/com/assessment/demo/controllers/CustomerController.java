@@ -1,13 +1,20 @@
 package com.assessment.demo.controllers;
 
 import com.assessment.demo.dao.CustomerRepository;
-import com.assessment.demo.dao.DivisionRepository;
+import com.assessment.demo.dto.CustomerRow;
+import com.assessment.demo.dto.KeysetPage;
+import com.assessment.demo.dto.OrderDto;
+import com.assessment.demo.dto.TableVersion;
 import com.assessment.demo.entities.Customer;
 import com.assessment.demo.entities.Division;
+import com.assessment.demo.services.OrderLookupService;
+import com.assessment.demo.services.ReferenceDataRegistry;
+import com.assessment.demo.services.SparseFieldsets;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -18,26 +25,60 @@ import java.util.Optional;
 public class CustomerController {
 
     private final CustomerRepository customerRepository;
-    private final DivisionRepository divisionRepository;
+    private final ReferenceDataRegistry referenceData;
+    private final KeysetPagination keysetPagination;
+    private final SparseFieldResponses sparseFieldResponses;
+    private final OrderLookupService orderLookupService;
 
     @Autowired
-    public CustomerController(CustomerRepository customerRepository, DivisionRepository divisionRepository) {
+    public CustomerController(CustomerRepository customerRepository, ReferenceDataRegistry referenceData,
+                              KeysetPagination keysetPagination, SparseFieldResponses sparseFieldResponses,
+                              OrderLookupService orderLookupService) {
         this.customerRepository = customerRepository;
-        this.divisionRepository = divisionRepository;
+        this.referenceData = referenceData;
+        this.keysetPagination = keysetPagination;
+        this.sparseFieldResponses = sparseFieldResponses;
+        this.orderLookupService = orderLookupService;
     }
 
-    // GET all customers with _embedded structure for frontend compatibility
+    // GET customers with _embedded structure for frontend compatibility, one keyset page at a time
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Object> getAllCustomers() {
-        List<Customer> customers = customerRepository.findAll();
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(ApiResponseHelper.wrapEmbedded("customers", customers));
+    public ResponseEntity<Object> getAllCustomers(@RequestParam(required = false) Long after,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  @RequestParam(required = false) List<String> fields,
+                                                  WebRequest request) {
+        TableVersion version = customerRepository.findTableVersion();
+        // ?fields=firstName,lastName,division.division_name: only those columns are selected and written
+        if (fields != null) {
+            return sparseFieldResponses.list(SparseFieldsets.Resource.CUSTOMERS, "customers", fields, after, limit,
+                    true, version, request);
+        }
+        if (request.checkNotModified(version.eTag("customers", false), version.lastModified())) {
+            return ApiResponseHelper.notModified();
+        }
+        KeysetPage page = keysetPagination.page(after, limit);
+        List<CustomerRow> customers = customerRepository.findRowsAfter(page.after(), page.toLimit());
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(keysetPagination.wrapEmbedded("customers", customers, page, CustomerRow::id));
     }
 
     // GET single customer by ID
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Customer> getCustomerById(@PathVariable Long id) {
-        return customerRepository.findById(id)
-                .map(customer -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(customer))
+    public ResponseEntity<CustomerRow> getCustomerById(@PathVariable Long id, WebRequest request) {
+        return customerRepository.findRowById(id)
+                .map(customer -> ApiResponseHelper.conditional(request, "customer", id, customer.last_update(), customer))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // GET a customer's orders with items, vacations and excursions, one keyset page of carts at a time
+    @GetMapping(value = "/{id}/orders", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> getOrdersByCustomerId(@PathVariable Long id,
+                                                        @RequestParam(required = false) Long after,
+                                                        @RequestParam(required = false) Integer limit) {
+        KeysetPage page = keysetPagination.page(after, limit);
+        return orderLookupService.findByCustomerId(id, page)
+                .<ResponseEntity<Object>>map(orders -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                        .body(keysetPagination.wrapEmbedded("orders", orders, page, OrderDto::id)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -48,8 +89,8 @@ public class CustomerController {
             // Extract division ID from URL string
             Long divisionId = extractIdFromUrl(customerDTO.getDivision());
 
-            // Find the division
-            Optional<Division> divisionOpt = divisionRepository.findById(divisionId);
+            // Find the division (in memory, no query)
+            Optional<Division> divisionOpt = referenceData.findDivision(divisionId);
             if (!divisionOpt.isPresent()) {
                 return ResponseEntity.badRequest().build();
             }
@@ -78,7 +119,7 @@ public class CustomerController {
                 .map(customer -> {
                     try {
                         Long divisionId = extractIdFromUrl(customerDTO.getDivision());
-                        Optional<Division> divisionOpt = divisionRepository.findById(divisionId);
+                        Optional<Division> divisionOpt = referenceData.findDivision(divisionId);
 
                         if (!divisionOpt.isPresent()) {
                             return ResponseEntity.badRequest().<Customer>build();
@@ -114,10 +155,11 @@ public class CustomerController {
             return ResponseEntity.status(500).body("Cannot delete customer: " + e.getMessage());
         }
     }    // GET division by customer ID (existing endpoint)
+    // only the customer's division id is read from the database, the division comes from memory
     @GetMapping("/{id}/division")
     public ResponseEntity<DivisionDto> getDivisionByCustomerId(@PathVariable Long id) {
-        return customerRepository.findById(id)
-                .map(Customer::getDivision)
+        return customerRepository.findDivisionIdById(id)
+                .flatMap(referenceData::findDivision)
                 .map(div -> ResponseEntity.ok(new DivisionDto(div.getId(), div.getDivision_name(), div.getCountry_id())))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -1,11 +1,16 @@
 package com.assessment.demo.controllers;
 
-import com.assessment.demo.dao.DivisionRepository;
+import com.assessment.demo.dto.KeysetPage;
+import com.assessment.demo.dto.TableVersion;
 import com.assessment.demo.entities.Division;
+import com.assessment.demo.services.CatalogSnapshots;
+import com.assessment.demo.services.ReferenceDataRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -13,23 +18,46 @@ import java.util.List;
 @RequestMapping("/api/divisions")
 public class DivisionController {
 
-    private final DivisionRepository divisionRepository;
+    private final ReferenceDataRegistry referenceData;
+    private final CatalogSnapshots catalogSnapshots;
+    private final KeysetPagination keysetPagination;
 
     @Autowired
-    public DivisionController(DivisionRepository divisionRepository) {
-        this.divisionRepository = divisionRepository;
+    public DivisionController(ReferenceDataRegistry referenceData, CatalogSnapshots catalogSnapshots,
+                              KeysetPagination keysetPagination) {
+        this.referenceData = referenceData;
+        this.catalogSnapshots = catalogSnapshots;
+        this.keysetPagination = keysetPagination;
     }
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Object> getAllDivisions() {
-        List<Division> divisions = divisionRepository.findAll();
+    public ResponseEntity<Object> getAllDivisions(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                  @RequestParam(required = false) Long after,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  WebRequest request) {
+        boolean paged = after != null || limit != null;
+        boolean gzip = !paged && catalogSnapshots.isEnabled() && ApiResponseHelper.acceptsGzip(acceptEncoding);
+        TableVersion version = referenceData.divisionsVersion();
+        if (request.checkNotModified(version.eTag("divisions", gzip), version.lastModified())) {
+            return ApiResponseHelper.notModified();
+        }
+        if (paged) {
+            KeysetPage page = keysetPagination.page(after, limit);
+            List<Division> divisions = referenceData.divisionsAfter(page.after(), page.limit());
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                    .body(keysetPagination.wrapEmbedded("divisions", divisions, page, Division::getId));
+        }
+        if (catalogSnapshots.isEnabled()) {
+            return ApiResponseHelper.snapshot(catalogSnapshots.divisions(version), gzip);
+        }
+        List<Division> divisions = referenceData.divisions();
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(ApiResponseHelper.wrapEmbedded("divisions", divisions));
     }
 
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Division> getDivisionById(@PathVariable Long id) {
-        return divisionRepository.findById(id)
-                .map(d -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(d))
+    public ResponseEntity<Division> getDivisionById(@PathVariable Long id, WebRequest request) {
+        return referenceData.findDivision(id)
+                .map(d -> ApiResponseHelper.conditional(request, "division", id, d.getLast_update(), d))
                 .orElse(ResponseEntity.notFound().build());
     }
 }
@@ -2,16 +2,29 @@ package com.assessment.demo.controllers;
 
 import com.assessment.demo.dao.ExcursionRepository;
 import com.assessment.demo.dao.VacationRepository;
+import com.assessment.demo.dto.ExcursionRow;
+import com.assessment.demo.dto.KeysetPage;
+import com.assessment.demo.dto.TableVersion;
 import com.assessment.demo.entities.Excursion;
+import com.assessment.demo.services.CatalogCache;
+import com.assessment.demo.services.CatalogPriceIndex;
+import com.assessment.demo.services.CatalogChangedEvent;
+import com.assessment.demo.services.CatalogSnapshots;
+import com.assessment.demo.services.ExcursionsByVacationIndex;
+import com.assessment.demo.services.SparseFieldsets;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.math.BigDecimal;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "http://localhost:4200")
 @RestController
@@ -20,17 +33,60 @@ public class ExcursionController {
 
     private final ExcursionRepository excursionRepository;
     private final VacationRepository vacationRepository;
+    private final ExcursionsByVacationIndex excursionsByVacationIndex;
+    private final CatalogCache catalogCache;
+    private final CatalogSnapshots catalogSnapshots;
+    private final CatalogPriceIndex catalogPriceIndex;
+    private final KeysetPagination keysetPagination;
+    private final SparseFieldResponses sparseFieldResponses;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ExcursionController(ExcursionRepository excursionRepository, VacationRepository vacationRepository) {
+    public ExcursionController(ExcursionRepository excursionRepository, VacationRepository vacationRepository,
+                               ExcursionsByVacationIndex excursionsByVacationIndex, CatalogCache catalogCache,
+                               CatalogSnapshots catalogSnapshots, CatalogPriceIndex catalogPriceIndex,
+                               KeysetPagination keysetPagination, SparseFieldResponses sparseFieldResponses,
+                               ApplicationEventPublisher eventPublisher) {
         this.excursionRepository = excursionRepository;
         this.vacationRepository = vacationRepository;
+        this.excursionsByVacationIndex = excursionsByVacationIndex;
+        this.catalogCache = catalogCache;
+        this.catalogSnapshots = catalogSnapshots;
+        this.catalogPriceIndex = catalogPriceIndex;
+        this.keysetPagination = keysetPagination;
+        this.sparseFieldResponses = sparseFieldResponses;
+        this.eventPublisher = eventPublisher;
     }
 
     // GET all excursions with _embedded structure for frontend compatibility
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Map<String, Object>> getAllExcursions() {
-        List<Excursion> excursions = excursionRepository.findAll();
+    public ResponseEntity<Object> getAllExcursions(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                   @RequestParam(required = false) Long after,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   @RequestParam(required = false) List<String> fields,
+                                                   WebRequest request) {
+        boolean paged = after != null || limit != null;
+        boolean gzip = !paged && catalogSnapshots.isEnabled() && ApiResponseHelper.acceptsGzip(acceptEncoding);
+        // excursions embed their vacation, so both tables feed the validator
+        TableVersion version = catalogCache.excursionsVersion().combine(catalogCache.vacationsVersion());
+        // ?fields=excursion_title,excursion_price,vacation.vacation_title: only those columns are selected and written
+        if (fields != null) {
+            return sparseFieldResponses.list(SparseFieldsets.Resource.EXCURSIONS, "excursions", fields, after, limit,
+                    false, version, request);
+        }
+        if (request.checkNotModified(version.eTag("excursions", gzip), version.lastModified())) {
+            return ApiResponseHelper.notModified();
+        }
+        if (paged) {
+            KeysetPage page = keysetPagination.page(after, limit);
+            List<ExcursionRow> excursions = excursionRepository.findRowsAfter(page.after(), page.toLimit());
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                    .body(keysetPagination.wrapEmbedded("excursions", excursions, page, ExcursionRow::id));
+        }
+        if (catalogSnapshots.isEnabled()) {
+            return ApiResponseHelper.snapshot(catalogSnapshots.excursions(version), gzip);
+        }
+        List<Excursion> excursions = catalogCache.findAllExcursions();
         Map<String, Object> response = new HashMap<>();
         Map<String, Object> embedded = new HashMap<>();
         embedded.put("excursions", excursions);
@@ -38,21 +94,35 @@ public class ExcursionController {
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(response);
     }
 
+    // GET excursions filtered by price with facet counts, e.g. /api/excursions/search?minPrice=500&maxPrice=2000&sort=-price
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> searchExcursionsByPrice(@RequestParam(required = false) BigDecimal minPrice,
+                                                          @RequestParam(required = false) BigDecimal maxPrice,
+                                                          @RequestParam(defaultValue = "price") String sort,
+                                                          @RequestParam(required = false) Integer limit,
+                                                          @RequestParam(required = false) List<BigDecimal> buckets) {
+        if (!"price".equals(sort) && !"-price".equals(sort)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int size = keysetPagination.page(null, limit).limit();
+        List<Excursion> excursions = catalogPriceIndex.findExcursions(minPrice, maxPrice, sort.startsWith("-"), size);
+        int total = catalogPriceIndex.countExcursions(minPrice, maxPrice);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(ApiResponseHelper.wrapPriceSearch("excursions", excursions, total, catalogPriceIndex.excursionFacets(buckets)));
+    }
+
     // GET single excursion by ID
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Excursion> getExcursionById(@PathVariable Long id) {
-        return excursionRepository.findById(id)
-                .map(excursion -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(excursion))
+    public ResponseEntity<Excursion> getExcursionById(@PathVariable Long id, WebRequest request) {
+        return catalogCache.findExcursionById(id)
+                .map(excursion -> ApiResponseHelper.conditional(request, "excursion", id, latestUpdate(excursion), excursion))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     // GET excursions by vacation ID - important for frontend to show excursions for a specific vacation
     @GetMapping(value = "/search/findByVacationId", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, Object>> getExcursionsByVacationId(@RequestParam Long vacationId) {
-        List<Excursion> excursions = excursionRepository.findAll()
-                .stream()
-                .filter(excursion -> excursion.getVacation() != null && excursion.getVacation().getId().equals(vacationId))
-                .collect(Collectors.toList());
+        List<Excursion> excursions = excursionsByVacationIndex.findByVacationId(vacationId);
 
         Map<String, Object> response = new HashMap<>();
         Map<String, Object> embedded = new HashMap<>();
@@ -64,10 +134,7 @@ public class ExcursionController {
     // Alternative endpoint for getting excursions by vacation (REST style)
     @GetMapping(value = "/vacation/{vacationId}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, Object>> getExcursionsByVacation(@PathVariable Long vacationId) {
-        List<Excursion> excursions = excursionRepository.findAll()
-                .stream()
-                .filter(excursion -> excursion.getVacation() != null && excursion.getVacation().getId().equals(vacationId))
-                .collect(Collectors.toList());
+        List<Excursion> excursions = excursionsByVacationIndex.findByVacationId(vacationId);
 
         Map<String, Object> response = new HashMap<>();
         Map<String, Object> embedded = new HashMap<>();
@@ -80,7 +147,10 @@ public class ExcursionController {
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Excursion> createExcursion(@RequestBody Excursion excursion) {
         try {
+            resolveVacation(excursion);
             Excursion savedExcursion = excursionRepository.save(excursion);
+            excursionsByVacationIndex.put(savedExcursion);
+            eventPublisher.publishEvent(CatalogChangedEvent.excursion(savedExcursion.getId()));
             return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(savedExcursion);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -92,11 +162,16 @@ public class ExcursionController {
     public ResponseEntity<Excursion> updateExcursion(@PathVariable Long id, @RequestBody Excursion excursionDetails) {
         return excursionRepository.findById(id)
                 .map(excursion -> {
+                    Long previousVacationId = ExcursionsByVacationIndex.vacationIdOf(excursion);
+                    resolveVacation(excursionDetails);
                     excursion.setExcursion_title(excursionDetails.getExcursion_title());
                     excursion.setExcursion_price(excursionDetails.getExcursion_price());
                     excursion.setImage_URL(excursionDetails.getImage_URL());
                     excursion.setVacation(excursionDetails.getVacation());
                     Excursion updatedExcursion = excursionRepository.save(excursion);
+                    excursionsByVacationIndex.remove(previousVacationId, id);
+                    excursionsByVacationIndex.put(updatedExcursion);
+                    eventPublisher.publishEvent(CatalogChangedEvent.excursion(id));
                     return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(updatedExcursion);
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -108,8 +183,29 @@ public class ExcursionController {
         return excursionRepository.findById(id)
                 .map(excursion -> {
                     excursionRepository.delete(excursion);
+                    excursionsByVacationIndex.remove(ExcursionsByVacationIndex.vacationIdOf(excursion), id);
+                    eventPublisher.publishEvent(CatalogChangedEvent.excursion(id));
                     return ResponseEntity.ok().build();
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    // the embedded vacation is part of the representation, so its changes count too
+    private static Date latestUpdate(Excursion excursion) {
+        Date lastUpdate = excursion.getLast_update();
+        if (excursion.getVacation() != null && excursion.getVacation().getLast_update() != null
+                && (lastUpdate == null || excursion.getVacation().getLast_update().after(lastUpdate))) {
+            return excursion.getVacation().getLast_update();
+        }
+        return lastUpdate;
+    }
+
+    // Replace a vacation reference that only carries an id with the stored vacation,
+    // so saved excursions serialize (and are indexed) with the full vacation
+    private void resolveVacation(Excursion excursion) {
+        if (excursion.getVacation() != null && excursion.getVacation().getId() != null) {
+            vacationRepository.findById(excursion.getVacation().getId())
+                    .ifPresent(excursion::setVacation);
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package com.assessment.demo.controllers;
+
+import com.assessment.demo.services.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ExportService exportService;
+
+    @Autowired
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // GET all customers, one JSON object per line
+    @GetMapping("/customers.ndjson")
+    public void exportCustomers(HttpServletResponse response) throws IOException {
+        prepare(response, "customers.ndjson");
+        exportService.exportCustomers(response.getOutputStream());
+    }
+
+    // GET all carts, one JSON object per line
+    @GetMapping("/carts.ndjson")
+    public void exportCarts(HttpServletResponse response) throws IOException {
+        prepare(response, "carts.ndjson");
+        exportService.exportCarts(response.getOutputStream());
+    }
+
+    // GET all cart items, one JSON object per line
+    @GetMapping("/cart-items.ndjson")
+    public void exportCartItems(HttpServletResponse response) throws IOException {
+        prepare(response, "cart-items.ndjson");
+        exportService.exportCartItems(response.getOutputStream());
+    }
+
+    private static void prepare(HttpServletResponse response, String fileName) {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+    }
+}
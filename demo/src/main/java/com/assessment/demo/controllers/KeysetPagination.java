@@ -0,0 +1,45 @@
+package com.assessment.demo.controllers;
+
+import com.assessment.demo.dto.KeysetPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Resolves ?after=&limit= parameters against the configured page caps and builds
+ * the "_embedded" + "page" response envelope for keyset-paginated list endpoints.
+ */
+@Component
+public class KeysetPagination {
+
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public KeysetPagination(@Value("${api.pagination.default-limit:100}") int defaultLimit,
+                            @Value("${api.pagination.max-limit:1000}") int maxLimit) {
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public KeysetPage page(Long after, Integer limit) {
+        int size = limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+        return new KeysetPage(after == null ? 0L : after, size);
+    }
+
+    // "next" is the cursor for the following page, null once the last page was returned
+    public <T> Map<String, Object> wrapEmbedded(String key, List<T> items, KeysetPage page, Function<T, Long> idOf) {
+        Map<String, Object> pageInfo = new LinkedHashMap<>();
+        pageInfo.put("after", page.after());
+        pageInfo.put("limit", page.limit());
+        pageInfo.put("next", items.size() == page.limit() ? idOf.apply(items.get(items.size() - 1)) : null);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("_embedded", Map.of(key, items));
+        response.put("page", pageInfo);
+        return response;
+    }
+}
@@ -0,0 +1,28 @@
+package com.assessment.demo.controllers;
+
+import com.assessment.demo.dto.OrderDto;
+import com.assessment.demo.services.OrderLookupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/orders")
+public class OrderController {
+
+    private final OrderLookupService orderLookupService;
+
+    @Autowired
+    public OrderController(OrderLookupService orderLookupService) {
+        this.orderLookupService = orderLookupService;
+    }
+
+    // GET one order with its items, vacations and excursions by the tracking number given to the customer
+    @GetMapping(value = "/{trackingNumber}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<OrderDto> getOrder(@PathVariable String trackingNumber) {
+        return orderLookupService.findByTrackingNumber(trackingNumber)
+                .map(order -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(order))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,42 @@
+package com.assessment.demo.controllers;
+
+import com.assessment.demo.dto.SearchHit;
+import com.assessment.demo.services.CatalogSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final CatalogSearchIndex catalogSearchIndex;
+
+    @Autowired
+    public SearchController(CatalogSearchIndex catalogSearchIndex) {
+        this.catalogSearchIndex = catalogSearchIndex;
+    }
+
+    // GET ranked vacations and excursions matching a (partial) query, e.g. /api/search?q=ital&type=vacation
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> search(@RequestParam("q") String query,
+                                         @RequestParam(required = false) String type,
+                                         @RequestParam(defaultValue = "10") int limit) {
+        CatalogSearchIndex.DocType docType = null;
+        if (type != null && !type.isBlank()) {
+            try {
+                docType = CatalogSearchIndex.DocType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        List<SearchHit> hits = catalogSearchIndex.search(query, docType, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(ApiResponseHelper.wrapEmbedded("hits", hits));
+    }
+}
@@ -0,0 +1,51 @@
+package com.assessment.demo.controllers;
+
+import com.assessment.demo.dto.KeysetPage;
+import com.assessment.demo.dto.TableVersion;
+import com.assessment.demo.services.SparseFieldsets;
+import com.assessment.demo.services.SparseFieldsets.Resource;
+import com.assessment.demo.services.SparseFieldsets.Selection;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Answers list requests carrying ?fields=: 400 for an unknown field, otherwise the same envelope as
+ * the full list (keyset page or everything) with only the selected fields, validated per field list.
+ */
+@Component
+public class SparseFieldResponses {
+
+    private final SparseFieldsets sparseFieldsets;
+    private final KeysetPagination keysetPagination;
+
+    public SparseFieldResponses(SparseFieldsets sparseFieldsets, KeysetPagination keysetPagination) {
+        this.sparseFieldsets = sparseFieldsets;
+        this.keysetPagination = keysetPagination;
+    }
+
+    // pagedOnly: the full list of this resource is never returned unpaged
+    public ResponseEntity<Object> list(Resource resource, String key, List<String> fields, Long after, Integer limit,
+                                       boolean pagedOnly, TableVersion version, WebRequest request) {
+        Optional<Selection> selection = sparseFieldsets.select(resource, fields);
+        if (selection.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (request.checkNotModified(version.eTag(key + "-" + selection.get().key(), false), version.lastModified())) {
+            return ApiResponseHelper.notModified();
+        }
+        if (!pagedOnly && after == null && limit == null) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                    .body(ApiResponseHelper.wrapEmbedded(key, sparseFieldsets.findAll(selection.get())));
+        }
+        KeysetPage page = keysetPagination.page(after, limit);
+        List<Map<String, Object>> rows = sparseFieldsets.findAfter(selection.get(), page.after(), page.limit());
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(keysetPagination.wrapEmbedded(key, rows, page, row -> (Long) row.get("id")));
+    }
+}
@@ -1,12 +1,25 @@
 package com.assessment.demo.controllers;
 
 import com.assessment.demo.dao.VacationRepository;
+import com.assessment.demo.dto.KeysetPage;
+import com.assessment.demo.dto.TableVersion;
+import com.assessment.demo.dto.VacationRow;
 import com.assessment.demo.entities.Vacation;
+import com.assessment.demo.services.CatalogCache;
+import com.assessment.demo.services.CatalogPriceIndex;
+import com.assessment.demo.services.CatalogChangedEvent;
+import com.assessment.demo.services.CatalogSnapshots;
+import com.assessment.demo.services.ExcursionsByVacationIndex;
+import com.assessment.demo.services.SparseFieldsets;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -14,24 +27,82 @@ import java.util.List;
 public class VacationController {
 
     private final VacationRepository vacationRepository;
+    private final ExcursionsByVacationIndex excursionsByVacationIndex;
+    private final CatalogCache catalogCache;
+    private final CatalogSnapshots catalogSnapshots;
+    private final CatalogPriceIndex catalogPriceIndex;
+    private final KeysetPagination keysetPagination;
+    private final SparseFieldResponses sparseFieldResponses;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public VacationController(VacationRepository vacationRepository) {
+    public VacationController(VacationRepository vacationRepository, ExcursionsByVacationIndex excursionsByVacationIndex,
+                              CatalogCache catalogCache, CatalogSnapshots catalogSnapshots,
+                              CatalogPriceIndex catalogPriceIndex, KeysetPagination keysetPagination,
+                              SparseFieldResponses sparseFieldResponses, ApplicationEventPublisher eventPublisher) {
         this.vacationRepository = vacationRepository;
+        this.excursionsByVacationIndex = excursionsByVacationIndex;
+        this.catalogCache = catalogCache;
+        this.catalogSnapshots = catalogSnapshots;
+        this.catalogPriceIndex = catalogPriceIndex;
+        this.keysetPagination = keysetPagination;
+        this.sparseFieldResponses = sparseFieldResponses;
+        this.eventPublisher = eventPublisher;
     }
 
     // GET all vacations with _embedded structure for frontend compatibility
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Object> getAllVacations() {
-        List<Vacation> vacations = vacationRepository.findAll();
+    public ResponseEntity<Object> getAllVacations(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                  @RequestParam(required = false) Long after,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  @RequestParam(required = false) List<String> fields,
+                                                  WebRequest request) {
+        boolean paged = after != null || limit != null;
+        boolean gzip = !paged && catalogSnapshots.isEnabled() && ApiResponseHelper.acceptsGzip(acceptEncoding);
+        TableVersion version = catalogCache.vacationsVersion();
+        // ?fields=vacation_title,travel_price,image_URL: only those columns are selected and written
+        if (fields != null) {
+            return sparseFieldResponses.list(SparseFieldsets.Resource.VACATIONS, "vacations", fields, after, limit,
+                    false, version, request);
+        }
+        if (request.checkNotModified(version.eTag("vacations", gzip), version.lastModified())) {
+            return ApiResponseHelper.notModified();
+        }
+        if (paged) {
+            KeysetPage page = keysetPagination.page(after, limit);
+            List<VacationRow> vacations = vacationRepository.findRowsAfter(page.after(), page.toLimit());
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                    .body(keysetPagination.wrapEmbedded("vacations", vacations, page, VacationRow::id));
+        }
+        if (catalogSnapshots.isEnabled()) {
+            return ApiResponseHelper.snapshot(catalogSnapshots.vacations(version), gzip);
+        }
+        List<Vacation> vacations = catalogCache.findAllVacations();
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(ApiResponseHelper.wrapEmbedded("vacations", vacations));
     }
 
+    // GET vacations filtered by price with facet counts, e.g. /api/vacations/search?minPrice=500&maxPrice=2000&sort=-price
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> searchVacationsByPrice(@RequestParam(required = false) BigDecimal minPrice,
+                                                         @RequestParam(required = false) BigDecimal maxPrice,
+                                                         @RequestParam(defaultValue = "price") String sort,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         @RequestParam(required = false) List<BigDecimal> buckets) {
+        if (!"price".equals(sort) && !"-price".equals(sort)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int size = keysetPagination.page(null, limit).limit();
+        List<Vacation> vacations = catalogPriceIndex.findVacations(minPrice, maxPrice, sort.startsWith("-"), size);
+        int total = catalogPriceIndex.countVacations(minPrice, maxPrice);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(ApiResponseHelper.wrapPriceSearch("vacations", vacations, total, catalogPriceIndex.vacationFacets(buckets)));
+    }
+
     // GET single vacation by ID
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Vacation> getVacationById(@PathVariable Long id) {
-        return vacationRepository.findById(id)
-                .map(vacation -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(vacation))
+    public ResponseEntity<Vacation> getVacationById(@PathVariable Long id, WebRequest request) {
+        return catalogCache.findVacationById(id)
+                .map(vacation -> ApiResponseHelper.conditional(request, "vacation", id, vacation.getLast_update(), vacation))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -40,6 +111,7 @@ public class VacationController {
     public ResponseEntity<Vacation> createVacation(@RequestBody Vacation vacation) {
         try {
             Vacation savedVacation = vacationRepository.save(vacation);
+            eventPublisher.publishEvent(CatalogChangedEvent.vacation(savedVacation.getId()));
             return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(savedVacation);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
@@ -56,6 +128,9 @@ public class VacationController {
                     vacation.setTravel_price(vacationDetails.getTravel_price());
                     vacation.setImage_URL(vacationDetails.getImage_URL());
                     Vacation updatedVacation = vacationRepository.save(vacation);
+                    // indexed excursions embed their vacation, so drop the stale copies
+                    excursionsByVacationIndex.evictVacation(id);
+                    eventPublisher.publishEvent(CatalogChangedEvent.vacation(id));
                     return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(updatedVacation);
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -67,6 +142,8 @@ public class VacationController {
         return vacationRepository.findById(id)
                 .map(vacation -> {
                     vacationRepository.delete(vacation);
+                    excursionsByVacationIndex.evictVacation(id);
+                    eventPublisher.publishEvent(CatalogChangedEvent.vacation(id));
                     return ResponseEntity.ok().build();
                 })
                 .orElse(ResponseEntity.notFound().build());
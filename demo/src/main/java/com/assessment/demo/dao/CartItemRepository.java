@@ -1,10 +1,24 @@
 package com.assessment.demo.dao;
 
+import com.assessment.demo.dto.CartItemExportRow;
 import com.assessment.demo.entities.CartItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.rest.core.annotation.RestResource;
+
+import java.util.stream.Stream;
 
 
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+
+    // forward-only cursor for exports; must be consumed inside a transaction
+    @RestResource(exported = false)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.assessment.demo.dto.CartItemExportRow(ci.id, ci.cart.id, ci.vacation.id, ci.create_date, ci.last_update) "
+            + "from CartItem ci order by ci.id")
+    Stream<CartItemExportRow> streamExportRows();
 }
-    
\ No newline at end of file
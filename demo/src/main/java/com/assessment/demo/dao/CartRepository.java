@@ -1,9 +1,66 @@
 package com.assessment.demo.dao;
 
+import com.assessment.demo.dto.CartExportRow;
+import com.assessment.demo.dto.TrackingNumberRow;
 import com.assessment.demo.entities.Cart;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 
 public interface CartRepository extends JpaRepository<Cart, Long> {
+
+    @Transactional(readOnly = true)
+    @RestResource(exported = false)
+    boolean existsByOrderTrackingNumber(String orderTrackingNumber);
+
+    // the whole order in one statement, through the unique index on order_tracking_number
+    @Transactional(readOnly = true)
+    @RestResource(exported = false)
+    @Query("select distinct c from Cart c join fetch c.customer cu left join fetch cu.division "
+            + "left join fetch c.cartItem i left join fetch i.vacation "
+            + "left join fetch i.excursions e left join fetch e.vacation "
+            + "where c.orderTrackingNumber = :orderTrackingNumber")
+    Optional<Cart> findOrderByTrackingNumber(String orderTrackingNumber);
+
+    // keyset page of a customer's cart ids, limited in SQL (a limited fetch join would be paginated in memory)
+    @Transactional(readOnly = true)
+    @RestResource(exported = false)
+    @Query("select c.id from Cart c where c.customer.id = :customerId and c.id > :after order by c.id")
+    List<Long> findIdsByCustomerId(Long customerId, Long after, Limit limit);
+
+    // whole orders for the given cart ids in one statement; the collections are nested, so rows grow
+    // with items x excursions per cart rather than as a cartesian product across carts
+    @Transactional(readOnly = true)
+    @RestResource(exported = false)
+    @Query("select distinct c from Cart c join fetch c.customer cu left join fetch cu.division "
+            + "left join fetch c.cartItem i left join fetch i.vacation "
+            + "left join fetch i.excursions e left join fetch e.vacation "
+            + "where c.id in :ids order by c.id")
+    List<Cart> findOrdersByIdIn(Collection<Long> ids);
+
+    // tracking numbers of carts after the given id; must be consumed inside a transaction
+    @RestResource(exported = false)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.assessment.demo.dto.TrackingNumberRow(c.id, c.orderTrackingNumber) from Cart c "
+            + "where c.id > :after and c.orderTrackingNumber is not null order by c.id")
+    Stream<TrackingNumberRow> streamTrackingNumbersAfter(Long after);
+
+    // forward-only cursor for exports; must be consumed inside a transaction
+    @RestResource(exported = false)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.assessment.demo.dto.CartExportRow(c.id, c.orderTrackingNumber, c.package_price, c.party_size, "
+            + "c.status, c.customer.id, c.create_date, c.last_update) from Cart c order by c.id")
+    Stream<CartExportRow> streamExportRows();
 }
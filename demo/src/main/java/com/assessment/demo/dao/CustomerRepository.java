@@ -1,9 +1,58 @@
 package com.assessment.demo.dao;
 
+import com.assessment.demo.dto.CustomerRow;
+import com.assessment.demo.dto.TableVersion;
 import com.assessment.demo.entities.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+
+    String CUSTOMER_ROW_COLUMNS = "c.id, c.firstName, c.lastName, c.address, c.postal_code, c.phone, "
+            + "c.create_date, c.last_update, d.id, d.division_name, d.create_date, d.last_update, d.country_id";
+
+    // keyset pagination on the primary key; the division is joined into the same row
+    @Transactional(readOnly = true)
+    @RestResource(exported = false)
+    @Query("select new com.assessment.demo.dto.CustomerRow(" + CUSTOMER_ROW_COLUMNS + ") from Customer c "
+            + "left join c.division d where c.id > :after order by c.id")
+    List<CustomerRow> findRowsAfter(Long after, Limit limit);
+
+    @Transactional(readOnly = true)
+    @RestResource(exported = false)
+    @Query("select new com.assessment.demo.dto.CustomerRow(" + CUSTOMER_ROW_COLUMNS + ") from Customer c "
+            + "left join c.division d where c.id = :id")
+    Optional<CustomerRow> findRowById(Long id);
+
+    @Transactional(readOnly = true)
+    @RestResource(exported = false)
+    @Query("select new com.assessment.demo.dto.TableVersion(count(c), max(c.last_update)) from Customer c")
+    TableVersion findTableVersion();
+
+    // the division itself comes from ReferenceDataRegistry
+    @Transactional(readOnly = true)
+    @RestResource(exported = false)
+    @Query("select c.division.id from Customer c where c.id = :id")
+    Optional<Long> findDivisionIdById(Long id);
+
+    // forward-only cursor for exports; must be consumed inside a transaction
+    @RestResource(exported = false)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Customer c left join fetch c.division order by c.id")
+    Stream<Customer> streamAllWithDivision();
 }
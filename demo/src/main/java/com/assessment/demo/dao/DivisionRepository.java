@@ -1,11 +1,25 @@
 package com.assessment.demo.dao;
 
+import com.assessment.demo.dto.TableVersion;
 import com.assessment.demo.entities.Division;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 
 
 @RepositoryRestResource(exported = false)
 public interface DivisionRepository extends JpaRepository<Division, Long> {
+
+    // keyset pagination on the primary key
+    @Transactional(readOnly = true)
+    List<Division> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query("select new com.assessment.demo.dto.TableVersion(count(d), max(d.last_update)) from Division d")
+    TableVersion findTableVersion();
 }
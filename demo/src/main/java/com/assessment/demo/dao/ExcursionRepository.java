@@ -1,9 +1,35 @@
 package com.assessment.demo.dao;
 
+import com.assessment.demo.dto.ExcursionRow;
+import com.assessment.demo.dto.TableVersion;
 import com.assessment.demo.entities.Excursion;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 
 
 public interface ExcursionRepository extends JpaRepository<Excursion, Long> {
+
+    // backed by idx_excursions_vacation_id; not exported, ExcursionController serves this lookup
+    @Transactional(readOnly = true)
+    @RestResource(exported = false)
+    List<Excursion> findByVacationId(Long vacationId);
+
+    // keyset pagination on the primary key; the vacation is joined into the same row
+    @Transactional(readOnly = true)
+    @RestResource(exported = false)
+    @Query("select new com.assessment.demo.dto.ExcursionRow(e.id, e.excursion_title, e.excursion_price, e.image_URL, "
+            + "e.create_date, e.last_update, v.id, v.vacation_title, v.description, v.travel_price, v.image_URL, "
+            + "v.create_date, v.last_update) from Excursion e left join e.vacation v where e.id > :after order by e.id")
+    List<ExcursionRow> findRowsAfter(Long after, Limit limit);
+
+    @Transactional(readOnly = true)
+    @RestResource(exported = false)
+    @Query("select new com.assessment.demo.dto.TableVersion(count(e), max(e.last_update)) from Excursion e")
+    TableVersion findTableVersion();
 }
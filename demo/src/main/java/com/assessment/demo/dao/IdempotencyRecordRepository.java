@@ -0,0 +1,31 @@
+package com.assessment.demo.dao;
+
+import com.assessment.demo.entities.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+
+
+@RepositoryRestResource(exported = false)
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // 0 when the key is taken; the insert waits while another transaction holds the key
+    @Modifying
+    @Query(value = "insert into idempotency_keys (idempotency_key, create_date) values (:key, :createDate) "
+            + "on conflict do nothing", nativeQuery = true)
+    int claim(String key, Date createDate);
+
+    @Modifying
+    @Query("update IdempotencyRecord r set r.orderTrackingNumber = :orderTrackingNumber where r.key = :key")
+    int recordResponse(String key, String orderTrackingNumber);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.create_date < :cutoff")
+    int deleteCreatedBefore(Date cutoff);
+}
@@ -0,0 +1,52 @@
+package com.assessment.demo.dao;
+
+import com.assessment.demo.entities.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+
+
+@RepositoryRestResource(exported = false)
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // oldest undelivered events that are not parked or backing off, locked for the caller's transaction;
+    // rows another relay holds are skipped
+    @Query(value = "SELECT * FROM booking_outbox WHERE delivered_date IS NULL AND parked_date IS NULL "
+            + "AND (next_attempt_date IS NULL OR next_attempt_date <= :now) "
+            + "ORDER BY outbox_id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> claimPending(int limit, Date now);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.delivered_date = :deliveredDate where e.id in :ids")
+    int markDelivered(Collection<Long> ids, Date deliveredDate);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.next_attempt_date = :nextAttemptDate where e.id in :ids")
+    int scheduleRetry(Collection<Long> ids, Date nextAttemptDate);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.parked_date = :parkedDate where e.id in :ids")
+    int park(Collection<Long> ids, Date parkedDate);
+
+    // puts parked events back in the queue with a fresh set of attempts
+    @Modifying
+    @Query("update OutboxEvent e set e.parked_date = null, e.attempts = 0, e.next_attempt_date = null "
+            + "where e.parked_date is not null and e.delivered_date is null")
+    int redriveParked();
+
+    @Query("select count(e) from OutboxEvent e where e.delivered_date is null and e.parked_date is null")
+    long countPending();
+
+    @Transactional
+    @Modifying
+    @Query("delete from OutboxEvent e where e.delivered_date < :cutoff")
+    int deleteDeliveredBefore(Date cutoff);
+}
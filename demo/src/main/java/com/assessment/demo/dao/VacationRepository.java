@@ -1,9 +1,29 @@
 package com.assessment.demo.dao;
 
+import com.assessment.demo.dto.TableVersion;
+import com.assessment.demo.dto.VacationRow;
 import com.assessment.demo.entities.Vacation;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.rest.core.annotation.RestResource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 
 
 public interface VacationRepository extends JpaRepository<Vacation, Long> {
+
+    // keyset pagination on the primary key, only the columns the list JSON needs
+    @Transactional(readOnly = true)
+    @RestResource(exported = false)
+    @Query("select new com.assessment.demo.dto.VacationRow(v.id, v.vacation_title, v.description, v.travel_price, "
+            + "v.image_URL, v.create_date, v.last_update) from Vacation v where v.id > :after order by v.id")
+    List<VacationRow> findRowsAfter(Long after, Limit limit);
+
+    @Transactional(readOnly = true)
+    @RestResource(exported = false)
+    @Query("select new com.assessment.demo.dto.TableVersion(count(v), max(v.last_update)) from Vacation v")
+    TableVersion findTableVersion();
 }
@@ -0,0 +1,16 @@
+package com.assessment.demo.dto;
+
+/**
+ * Outcome of one booking in a bulk purchase, by its position in the request.
+ * Exactly one of {@code orderTrackingNumber} and {@code error} is set.
+ */
+public record BulkPurchaseResult(int index, String orderTrackingNumber, String error) {
+
+    public static BulkPurchaseResult ordered(int index, String orderTrackingNumber) {
+        return new BulkPurchaseResult(index, orderTrackingNumber, null);
+    }
+
+    public static BulkPurchaseResult failed(int index, String error) {
+        return new BulkPurchaseResult(index, null, error);
+    }
+}
@@ -0,0 +1,13 @@
+package com.assessment.demo.dto;
+
+import com.assessment.demo.entities.StatusType;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Flat carts row for the NDJSON export; selected as a projection so no entities are hydrated
+ */
+public record CartExportRow(Long id, String orderTrackingNumber, BigDecimal packagePrice, int partySize,
+                            StatusType status, Long customerId, Date createDate, Date lastUpdate) {
+}
@@ -0,0 +1,9 @@
+package com.assessment.demo.dto;
+
+import java.util.Date;
+
+/**
+ * Flat cart_items row for the NDJSON export; selected as a projection so no entities are hydrated
+ */
+public record CartItemExportRow(Long id, Long cartId, Long vacationId, Date createDate, Date lastUpdate) {
+}
@@ -0,0 +1,14 @@
+package com.assessment.demo.dto;
+
+/**
+ * Outcome of a bulk catalog import.
+ */
+public record CatalogImportReport(long vacations, long excursions, long millis, double rowsPerSecond) {
+
+    public static CatalogImportReport of(long vacations, long excursions, long nanos) {
+        long millis = nanos / 1_000_000;
+        double seconds = nanos / 1_000_000_000.0;
+        double rowsPerSecond = seconds > 0 ? (vacations + excursions) / seconds : 0;
+        return new CatalogImportReport(vacations, excursions, millis, Math.round(rowsPerSecond * 10) / 10.0);
+    }
+}
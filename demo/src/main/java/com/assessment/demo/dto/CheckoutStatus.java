@@ -0,0 +1,25 @@
+package com.assessment.demo.dto;
+
+/**
+ * Progress of an order placed through the asynchronous checkout. {@code error} is only set when it failed.
+ */
+public record CheckoutStatus(String orderTrackingNumber, State status, String error) {
+
+    public enum State {
+        pending,
+        ordered,
+        failed
+    }
+
+    public static CheckoutStatus pending(String orderTrackingNumber) {
+        return new CheckoutStatus(orderTrackingNumber, State.pending, null);
+    }
+
+    public static CheckoutStatus ordered(String orderTrackingNumber) {
+        return new CheckoutStatus(orderTrackingNumber, State.ordered, null);
+    }
+
+    public static CheckoutStatus failed(String orderTrackingNumber, String error) {
+        return new CheckoutStatus(orderTrackingNumber, State.failed, error);
+    }
+}
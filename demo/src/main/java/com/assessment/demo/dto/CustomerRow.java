@@ -0,0 +1,24 @@
+package com.assessment.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Date;
+
+/**
+ * Customer with its division, selected as a projection so no entities are hydrated and the eager
+ * division association costs a join instead of a query per division.
+ * Components follow the Customer entity JSON in name; the entity writes its @JsonProperty fields last.
+ */
+@JsonPropertyOrder({"id", "address", "phone", "create_date", "last_update", "division", "firstName", "lastName", "postal_code"})
+public record CustomerRow(Long id, String firstName, String lastName, String address, String postal_code,
+                          String phone, Date create_date, Date last_update, DivisionRow division) {
+
+    // JPQL constructor expressions cannot nest, so the query passes the division columns flat
+    public CustomerRow(Long id, String firstName, String lastName, String address, String postal_code,
+                       String phone, Date create_date, Date last_update, Long divisionId, String division_name,
+                       Date divisionCreate_date, Date divisionLast_update, Long country_id) {
+        this(id, firstName, lastName, address, postal_code, phone, create_date, last_update,
+                divisionId == null ? null : new DivisionRow(divisionId, division_name, divisionCreate_date,
+                        divisionLast_update, country_id));
+    }
+}
@@ -0,0 +1,9 @@
+package com.assessment.demo.dto;
+
+import java.util.Date;
+
+/**
+ * Division embedded in a customer row; components follow the Division entity JSON in name and order.
+ */
+public record DivisionRow(Long id, String division_name, Date create_date, Date last_update, long country_id) {
+}
@@ -0,0 +1,22 @@
+package com.assessment.demo.dto;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Excursion with its vacation, selected as a projection so no entities are hydrated.
+ * Components follow the Excursion entity JSON in name and order.
+ */
+public record ExcursionRow(Long id, String excursion_title, BigDecimal excursion_price, String image_URL,
+                           Date create_date, Date last_update, VacationRow vacation) {
+
+    // JPQL constructor expressions cannot nest, so the query passes the vacation columns flat
+    public ExcursionRow(Long id, String excursion_title, BigDecimal excursion_price, String image_URL,
+                        Date create_date, Date last_update, Long vacationId, String vacation_title,
+                        String description, BigDecimal travel_price, String vacationImage_URL,
+                        Date vacationCreate_date, Date vacationLast_update) {
+        this(id, excursion_title, excursion_price, image_URL, create_date, last_update,
+                vacationId == null ? null : new VacationRow(vacationId, vacation_title, description, travel_price,
+                        vacationImage_URL, vacationCreate_date, vacationLast_update));
+    }
+}
@@ -0,0 +1,13 @@
+package com.assessment.demo.dto;
+
+import org.springframework.data.domain.Limit;
+
+/**
+ * Keyset page request: rows with an id greater than {@code after}, at most {@code limit} of them
+ */
+public record KeysetPage(long after, int limit) {
+
+    public Limit toLimit() {
+        return Limit.of(limit);
+    }
+}
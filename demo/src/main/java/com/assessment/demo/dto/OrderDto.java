@@ -0,0 +1,62 @@
+package com.assessment.demo.dto;
+
+import com.assessment.demo.entities.Cart;
+import com.assessment.demo.entities.CartItem;
+import com.assessment.demo.entities.Customer;
+import com.assessment.demo.entities.Excursion;
+import com.assessment.demo.entities.StatusType;
+import com.assessment.demo.entities.Vacation;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Read-only view of a placed order: the cart with its customer, items, vacations and excursions.
+ * Field names follow the entity JSON.
+ */
+public record OrderDto(Long id, String orderTrackingNumber, BigDecimal package_price, int party_size,
+                       StatusType status, Date create_date, Date last_update, CustomerDto customer,
+                       List<ItemDto> cartItems) {
+
+    public record CustomerDto(Long id, String firstName, String lastName) {
+    }
+
+    public record ItemDto(Long id, VacationDto vacation, List<ExcursionDto> excursions) {
+    }
+
+    public record VacationDto(Long id, String vacation_title, BigDecimal travel_price, String image_URL) {
+    }
+
+    public record ExcursionDto(Long id, String excursion_title, BigDecimal excursion_price, String image_URL) {
+    }
+
+    /**
+     * Copies an order whose associations are already loaded; items and excursions are ordered by id
+     */
+    public static OrderDto from(Cart cart) {
+        Customer customer = cart.getCustomer();
+        List<ItemDto> items = cart.getCartItem() == null ? List.of() : cart.getCartItem().stream()
+                .sorted(Comparator.comparing(CartItem::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(OrderDto::item)
+                .toList();
+        return new OrderDto(cart.getId(), cart.getOrderTrackingNumber(), cart.getPackage_price(), cart.getParty_size(),
+                cart.getStatus(), cart.getCreate_date(), cart.getLast_update(),
+                customer == null ? null : new CustomerDto(customer.getId(), customer.getFirstName(), customer.getLastName()),
+                items);
+    }
+
+    private static ItemDto item(CartItem item) {
+        Vacation vacation = item.getVacation();
+        List<ExcursionDto> excursions = item.getExcursions() == null ? List.of() : item.getExcursions().stream()
+                .sorted(Comparator.comparing(Excursion::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(excursion -> new ExcursionDto(excursion.getId(), excursion.getExcursion_title(),
+                        excursion.getExcursion_price(), excursion.getImage_URL()))
+                .toList();
+        return new ItemDto(item.getId(),
+                vacation == null ? null : new VacationDto(vacation.getId(), vacation.getVacation_title(),
+                        vacation.getTravel_price(), vacation.getImage_URL()),
+                excursions);
+    }
+}
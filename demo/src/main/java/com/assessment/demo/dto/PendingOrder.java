@@ -0,0 +1,7 @@
+package com.assessment.demo.dto;
+
+/**
+ * A purchase accepted by the asynchronous checkout, waiting to be written under its tracking number.
+ */
+public record PendingOrder(String orderTrackingNumber, Purchase purchase) {
+}
@@ -0,0 +1,9 @@
+package com.assessment.demo.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Number of catalog items priced in [min, max). {@code max} is null for the open-ended top bucket.
+ */
+public record PriceFacet(BigDecimal min, BigDecimal max, int count) {
+}
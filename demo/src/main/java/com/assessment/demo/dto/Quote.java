@@ -0,0 +1,14 @@
+package com.assessment.demo.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Server-side price of a cart: per item the vacation's travel_price plus its excursion prices,
+ * summed and multiplied by party_size.
+ */
+public record Quote(BigDecimal package_price, int party_size, List<Line> items) {
+
+    public record Line(Long vacationId, BigDecimal travel_price, BigDecimal excursions_price, BigDecimal subtotal) {
+    }
+}
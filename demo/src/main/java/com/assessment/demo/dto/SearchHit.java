@@ -0,0 +1,7 @@
+package com.assessment.demo.dto;
+
+/**
+ * One ranked result of a catalog search. {@code vacationId} is set for excursions.
+ */
+public record SearchHit(String type, Long id, String title, Long vacationId, int score) {
+}
@@ -0,0 +1,16 @@
+package com.assessment.demo.dto;
+
+/**
+ * Row counts of the tables the startup seeding checks, read with a single query
+ */
+public record SeedCounts(Long countries, Long divisions, Long customers, Long vacations, Long excursions) {
+
+    public boolean hasVacations() {
+        return vacations > 0;
+    }
+
+    // basic data is only seeded into a database without any of it
+    public boolean hasReferenceData() {
+        return countries > 0 || divisions > 0 || customers > 0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.assessment.demo.dto;
+
+import java.util.Date;
+
+/**
+ * Row count and newest last_update of a table, used as a cheap validator for conditional GETs.
+ * Inserts and updates move the timestamp, deletes change the count.
+ */
+public record TableVersion(Long rowCount, Date lastUpdate) {
+
+    public String eTag(String name, boolean gzip) {
+        return "\"" + name + "-" + rowCount + "-" + lastModified() + (gzip ? "-gzip" : "") + "\"";
+    }
+
+    // version of a representation built from both tables
+    public TableVersion combine(TableVersion other) {
+        Date newest = lastUpdate;
+        if (newest == null || (other.lastUpdate != null && other.lastUpdate.after(newest))) {
+            newest = other.lastUpdate;
+        }
+        return new TableVersion(rowCount + other.rowCount, newest);
+    }
+
+    public long lastModified() {
+        return lastUpdate != null ? lastUpdate.getTime() : -1;
+    }
+}
@@ -0,0 +1,7 @@
+package com.assessment.demo.dto;
+
+/**
+ * Cart id and tracking number, read in id order to (re)fill the issued tracking number filter.
+ */
+public record TrackingNumberRow(Long id, String orderTrackingNumber) {
+}
@@ -0,0 +1,14 @@
+package com.assessment.demo.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One vacation of a bulk catalog import together with its excursions.
+ */
+public record VacationImport(String vacation_title, String description, BigDecimal travel_price, String image_URL,
+                             List<ExcursionImport> excursions) {
+
+    public record ExcursionImport(String excursion_title, BigDecimal excursion_price, String image_URL) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.assessment.demo.dto;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Vacation as served by the list endpoints, selected as a projection so no entities are hydrated.
+ * Components follow the Vacation entity JSON in name and order.
+ */
+public record VacationRow(Long id, String vacation_title, String description, BigDecimal travel_price,
+                          String image_URL, Date create_date, Date last_update) {
+}
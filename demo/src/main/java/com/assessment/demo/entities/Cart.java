@@ -21,7 +21,8 @@ import java.util.Set;
 public class Cart {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_seq")
+    @SequenceGenerator(name = "cart_seq", sequenceName = "carts_cart_id_seq", allocationSize = 50)
     @Column(name = "cart_id")
     private Long id;
 
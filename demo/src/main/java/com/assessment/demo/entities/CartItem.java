@@ -19,7 +19,8 @@ import java.util.Set;
 public class CartItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_item_seq")
+    @SequenceGenerator(name = "cart_item_seq", sequenceName = "cart_items_cart_item_id_seq", allocationSize = 50)
     @Column(name = "cart_item_id")
     private Long id;
 
@@ -17,7 +17,8 @@ import java.util.Set;
 public class Excursion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "excursion_seq")
+    @SequenceGenerator(name = "excursion_seq", sequenceName = "excursions_excursion_id_seq", allocationSize = 50)
     @Column(name = "excursion_id")
     private Long id;
 
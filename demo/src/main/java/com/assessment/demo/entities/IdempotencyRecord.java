@@ -0,0 +1,32 @@
+package com.assessment.demo.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.util.Date;
+
+@Data
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+
+    @Column(name = "order_tracking_number")
+    private String orderTrackingNumber;
+
+    @Column(name = "create_date")
+    @CreationTimestamp
+    private Date create_date;
+
+    public IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(String key, String orderTrackingNumber) {
+        this.key = key;
+        this.orderTrackingNumber = orderTrackingNumber;
+    }
+}
@@ -0,0 +1,51 @@
+package com.assessment.demo.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.util.Date;
+
+@Data
+@Entity
+@Table(name = "booking_outbox")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "booking_outbox_outbox_id_seq", allocationSize = 50)
+    @Column(name = "outbox_id")
+    private Long id;
+
+    @Column(name = "order_tracking_number")
+    private String orderTrackingNumber;
+
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "attempts")
+    private int attempts;
+
+    @Column(name = "create_date")
+    @CreationTimestamp
+    private Date create_date;
+
+    @Column(name = "delivered_date")
+    private Date delivered_date;
+
+    // not claimed again before this time; set after a failed attempt, further out with each one
+    @Column(name = "next_attempt_date")
+    private Date next_attempt_date;
+
+    // set once the relay gave up on the event; parked events are kept and no longer claimed
+    @Column(name = "parked_date")
+    private Date parked_date;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(String orderTrackingNumber, String payload) {
+        this.orderTrackingNumber = orderTrackingNumber;
+        this.payload = payload;
+    }
+}
@@ -15,7 +15,8 @@ import java.util.*;
 public class Vacation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vacation_seq")
+    @SequenceGenerator(name = "vacation_seq", sequenceName = "vacations_vacation_id_seq", allocationSize = 50)
     @Column(name = "vacation_id")
     private Long id;
 
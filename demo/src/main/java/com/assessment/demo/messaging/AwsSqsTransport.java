@@ -0,0 +1,62 @@
+package com.assessment.demo.messaging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * {@link SqsTransport} on the SDK's non-blocking client (Netty), built once at startup.
+ */
+public class AwsSqsTransport implements SqsTransport, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AwsSqsTransport.class);
+
+    private final SqsAsyncClient client;
+    private final String queueUrl;
+
+    public AwsSqsTransport(String queueUrl, Region region) {
+        this.queueUrl = queueUrl;
+        this.client = SqsAsyncClient.builder()
+                .region(region)
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .build();
+        logger.info("SQS client initialized successfully for queue: {}", queueUrl);
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> send(Map<String, String> messages) {
+        List<SendMessageBatchRequestEntry> entries = messages.entrySet().stream()
+                .map(message -> SendMessageBatchRequestEntry.builder()
+                        .id(message.getKey())
+                        .messageBody(message.getValue())
+                        .build())
+                .toList();
+        SendMessageBatchRequest request = SendMessageBatchRequest.builder()
+                .queueUrl(queueUrl)
+                .entries(entries)
+                .build();
+        return client.sendMessageBatch(request).thenApply(response -> {
+            response.failed().forEach(failure ->
+                    logger.warn("SQS rejected message {}: {} {}", failure.id(), failure.code(), failure.message()));
+            return response.successful().stream()
+                    .map(SendMessageBatchResultEntry::id)
+                    .collect(Collectors.toSet());
+        });
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+}
@@ -0,0 +1,277 @@
+package com.assessment.demo.messaging;
+
+import com.assessment.demo.config.SqsSenderProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends SQS messages in batches without blocking the caller. {@link #submit} puts the message in a
+ * bounded buffer; a single flusher thread takes up to ten messages at a time, waiting at most
+ * {@code linger} for a batch to fill, and hands them to the {@link SqsTransport} with at most
+ * {@code max-in-flight} calls outstanding. Messages the queue did not accept are retried with
+ * exponential backoff and full jitter, up to {@code max-attempts}. A full buffer is handled by the
+ * {@link OverflowPolicy}.
+ */
+public class BatchingSqsSender implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchingSqsSender.class);
+
+    private final SqsTransport transport;
+    private final BlockingQueue<Message> buffer;
+    private final int capacity;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final SpillFile spillFile;
+    private final int maxAttempts;
+    private final long retryBackoffNanos;
+    private final long maxRetryBackoffNanos;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final ScheduledExecutorService retries;
+    private final Thread flusher;
+    private final AtomicLong entryIds = new AtomicLong();
+    private volatile boolean running = true;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedMessages = new LongAdder();
+    private final LongAdder sendNanos = new LongAdder();
+    private final AtomicLong maxSendNanos = new AtomicLong();
+
+    private record Message(String body, CompletableFuture<Void> result, int attempt) {
+    }
+
+    public BatchingSqsSender(SqsTransport transport, SqsSenderProperties properties) {
+        this.transport = transport;
+        this.capacity = properties.capacity();
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = Math.max(1, Math.min(properties.batchSize(), SqsTransport.MAX_BATCH_SIZE));
+        this.lingerNanos = properties.linger().toNanos();
+        this.overflowPolicy = properties.overflow();
+        this.blockTimeoutNanos = properties.blockTimeout().toNanos();
+        this.spillFile = properties.overflow() == OverflowPolicy.SPILL ? new SpillFile(properties.spillFile()) : null;
+        this.maxAttempts = Math.max(1, properties.maxAttempts());
+        this.retryBackoffNanos = properties.retryBackoff().toNanos();
+        this.maxRetryBackoffNanos = properties.maxRetryBackoff().toNanos();
+        this.maxInFlight = properties.maxInFlight();
+        this.inFlight = new Semaphore(maxInFlight);
+        this.retries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sqs-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher = new Thread(this::flush, "sqs-sender");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * @return completes once the queue accepted the message, exceptionally when it was rejected by the
+     * overflow policy or failed every attempt; with {@link MessageSpilledException} when it was spilled
+     * to disk, since it is not sent yet
+     */
+    public CompletableFuture<Void> submit(String body) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        enqueue(new Message(body, result, 1));
+        return result;
+    }
+
+    public SqsSenderStats stats() {
+        long batchCount = batches.sum();
+        return new SqsSenderStats(buffer.size(), capacity, sent.sum(), failed.sum(), dropped.sum(), spilled.sum(),
+                retried.sum(), batchCount,
+                batchCount == 0 ? 0.0 : (double) batchedMessages.sum() / batchCount,
+                batchCount == 0 ? 0.0 : sendNanos.sum() / 1e6 / batchCount,
+                maxSendNanos.get() / 1e6);
+    }
+
+    private void enqueue(Message message) {
+        if (running && buffer.offer(message)) {
+            return;
+        }
+        if (!running) {
+            overflow(message, "SQS sender is closed");
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                if (buffer.offer(message, blockTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        overflow(message, "SQS send buffer is full");
+    }
+
+    private void overflow(Message message, String reason) {
+        if (spillFile != null) {
+            try {
+                spillFile.append(message.body());
+                spilled.increment();
+                message.result().completeExceptionally(new MessageSpilledException(reason));
+                return;
+            } catch (IOException e) {
+                logger.error("Could not spill SQS message to disk: {}", e.getMessage());
+            }
+        }
+        dropped.increment();
+        message.result().completeExceptionally(new RejectedExecutionException(reason));
+    }
+
+    private void flush() {
+        List<Message> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Message first = buffer.poll(lingerNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    replaySpilled();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize && running) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() == batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Message next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                buffer.drainTo(batch, batchSize - batch.size());
+            } catch (InterruptedException e) {
+                // closing: send what was collected, then drain the rest of the buffer
+                if (batch.isEmpty()) {
+                    continue;
+                }
+            }
+            send(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    private void send(List<Message> batch) {
+        inFlight.acquireUninterruptibly();
+        Map<String, Message> byEntryId = new LinkedHashMap<>();
+        Map<String, String> entries = new LinkedHashMap<>();
+        for (Message message : batch) {
+            String entryId = Long.toString(entryIds.incrementAndGet());
+            byEntryId.put(entryId, message);
+            entries.put(entryId, message.body());
+        }
+        long start = System.nanoTime();
+        CompletableFuture<Set<String>> call;
+        try {
+            call = transport.send(entries);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((accepted, error) -> {
+            inFlight.release();
+            long elapsed = System.nanoTime() - start;
+            batches.increment();
+            batchedMessages.add(batch.size());
+            sendNanos.add(elapsed);
+            maxSendNanos.accumulateAndGet(elapsed, Math::max);
+            if (error != null) {
+                logger.warn("SQS batch of {} failed: {}", batch.size(), error.getMessage());
+            }
+            byEntryId.forEach((entryId, message) -> {
+                if (error == null && accepted.contains(entryId)) {
+                    sent.increment();
+                    message.result().complete(null);
+                } else {
+                    retry(message, error);
+                }
+            });
+        });
+    }
+
+    private void retry(Message message, Throwable cause) {
+        if (message.attempt() >= maxAttempts) {
+            failed.increment();
+            message.result().completeExceptionally(cause != null ? cause
+                    : new IllegalStateException("SQS rejected the message " + maxAttempts + " times"));
+            return;
+        }
+        retried.increment();
+        // full jitter: anywhere between 0 and the exponential backoff, so retries of one failed batch spread out
+        long backoff = Math.min(maxRetryBackoffNanos, retryBackoffNanos << Math.min(message.attempt() - 1, 20));
+        long delay = ThreadLocalRandom.current().nextLong(backoff + 1);
+        Message next = new Message(message.body(), message.result(), message.attempt() + 1);
+        try {
+            retries.schedule(() -> enqueue(next), delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            overflow(next, "SQS sender is closed");
+        }
+    }
+
+    // spilled messages go back in the buffer once it has drained
+    private void replaySpilled() {
+        if (spillFile == null || !running || !buffer.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> messages = spillFile.drain();
+            if (!messages.isEmpty()) {
+                logger.info("Replaying {} spilled SQS messages", messages.size());
+            }
+            // nobody waits for these any more, so a final failure is only logged; spilled again is not final
+            messages.forEach(body -> submit(body).whenComplete((ignored, error) -> {
+                if (error != null && !(error instanceof MessageSpilledException)) {
+                    logger.error("Spilled SQS message was not sent: {}", error.getMessage());
+                }
+            }));
+        } catch (IOException e) {
+            logger.error("Could not read spilled SQS messages: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sends what is buffered and waits for the calls in flight. With the SPILL policy, messages
+     * that are still waiting for a retry are spilled to disk; otherwise they fail.
+     */
+    @Override
+    public void close() {
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+            if (inFlight.tryAcquire(maxInFlight, 30, TimeUnit.SECONDS)) {
+                inFlight.release(maxInFlight);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        retries.shutdown();
+    }
+}
@@ -0,0 +1,12 @@
+package com.assessment.demo.messaging;
+
+/**
+ * Completes the future of a message that {@link BatchingSqsSender} spilled to disk instead of sending:
+ * it is not on the queue yet and will only be sent once the spill file is replayed.
+ */
+public class MessageSpilledException extends RuntimeException {
+
+    public MessageSpilledException(String reason) {
+        super(reason + ", message spilled to disk and sent later");
+    }
+}
@@ -0,0 +1,16 @@
+package com.assessment.demo.messaging;
+
+/**
+ * What {@link BatchingSqsSender} does with a message when its buffer is full.
+ */
+public enum OverflowPolicy {
+
+    // wait up to aws.sqs.sender.block-timeout for room, then reject
+    BLOCK,
+
+    // reject right away
+    DROP,
+
+    // append to aws.sqs.sender.spill-file; sent once the buffer has drained
+    SPILL
+}
@@ -0,0 +1,56 @@
+package com.assessment.demo.messaging;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Messages that did not fit in the send buffer, one Base64 line each (booking messages span several lines).
+ */
+class SpillFile {
+
+    private final Path path;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    SpillFile(Path path) {
+        this.path = path;
+    }
+
+    void append(String message) throws IOException {
+        String line = Base64.getEncoder().encodeToString(message.getBytes(StandardCharsets.UTF_8)) + "\n";
+        lock.lock();
+        try {
+            Files.writeString(path, line, StandardCharsets.US_ASCII, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // takes every spilled message out of the file; whatever cannot be sent again is appended anew
+    List<String> drain() throws IOException {
+        List<String> lines;
+        lock.lock();
+        try {
+            if (!Files.exists(path)) {
+                return List.of();
+            }
+            lines = Files.readAllLines(path, StandardCharsets.US_ASCII);
+            Files.delete(path);
+        } finally {
+            lock.unlock();
+        }
+        List<String> messages = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            if (!line.isEmpty()) {
+                messages.add(new String(Base64.getDecoder().decode(line), StandardCharsets.UTF_8));
+            }
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,9 @@
+package com.assessment.demo.messaging;
+
+/**
+ * Point-in-time counters of a {@link BatchingSqsSender}
+ */
+public record SqsSenderStats(int queueDepth, int capacity, long sent, long failed, long dropped, long spilled,
+                             long retried, long batches, double averageBatchSize, double averageSendMillis,
+                             double maxSendMillis) {
+}
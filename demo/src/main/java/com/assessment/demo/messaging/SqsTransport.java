@@ -0,0 +1,20 @@
+package com.assessment.demo.messaging;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One SendMessageBatch call, without blocking the caller.
+ */
+public interface SqsTransport {
+
+    // SQS SendMessageBatch takes at most 10 entries
+    int MAX_BATCH_SIZE = 10;
+
+    /**
+     * @param messages message bodies by batch entry id, at most {@link #MAX_BATCH_SIZE}
+     * @return the entry ids the queue accepted; completes exceptionally when the call itself failed
+     */
+    CompletableFuture<Set<String>> send(Map<String, String> messages);
+}
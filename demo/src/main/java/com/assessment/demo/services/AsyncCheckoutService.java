@@ -0,0 +1,177 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.cache.BoundedTtlCache;
+import com.assessment.demo.dao.CartRepository;
+import com.assessment.demo.dto.CheckoutStatus;
+import com.assessment.demo.dto.PendingOrder;
+import com.assessment.demo.dto.Purchase;
+import com.assessment.demo.entities.CartItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous checkout: a purchase is validated, given its tracking number and put on a bounded
+ * queue, and the caller returns right away. A single writer thread drains the queue and writes up to
+ * {@code checkout.async.batch-size} orders per transaction through {@link OrderBatchWriter}, so a bad
+ * order only fails itself. Progress is kept in a bounded, expiring
+ * status table; orders whose status expired are looked up in the carts table.
+ */
+@Service
+public class AsyncCheckoutService implements SmartLifecycle {
+
+    private final CheckoutService checkoutService;
+    private final OrderBatchWriter orderBatchWriter;
+    private final CartRepository cartRepository;
+    private final PricingEngine pricingEngine;
+    private final boolean enabled;
+    private final int batchSize;
+
+    private final BlockingQueue<PendingOrder> queue;
+    private final BoundedTtlCache<String, CheckoutStatus> statuses;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AsyncCheckoutService(CheckoutService checkoutService,
+                                OrderBatchWriter orderBatchWriter,
+                                CartRepository cartRepository,
+                                PricingEngine pricingEngine,
+                                @Value("${checkout.async.enabled:false}") boolean enabled,
+                                @Value("${checkout.async.queue-capacity:10000}") int queueCapacity,
+                                @Value("${checkout.async.batch-size:50}") int batchSize,
+                                @Value("${checkout.async.status-max-size:100000}") int statusMaxSize,
+                                @Value("${checkout.async.status-ttl:1h}") Duration statusTtl) {
+        this.checkoutService = checkoutService;
+        this.orderBatchWriter = orderBatchWriter;
+        this.cartRepository = cartRepository;
+        this.pricingEngine = pricingEngine;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.statuses = new BoundedTtlCache<>("checkoutStatus", statusMaxSize, statusTtl);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Accepts a purchase for writing
+     *
+     * @return the pending status, or empty when the queue is full
+     * @throws IllegalArgumentException when the purchase cannot be written
+     */
+    public Optional<CheckoutStatus> submit(Purchase purchase) {
+        validate(purchase);
+        // unknown ids or mismatched excursions are rejected now rather than failing in the writer
+        pricingEngine.quote(purchase);
+        String orderTrackingNumber = checkoutService.newOrderTrackingNumber();
+        CheckoutStatus pending = CheckoutStatus.pending(orderTrackingNumber);
+        statuses.put(orderTrackingNumber, pending);
+        if (!queue.offer(new PendingOrder(orderTrackingNumber, purchase))) {
+            statuses.invalidate(orderTrackingNumber);
+            return Optional.empty();
+        }
+        return Optional.of(pending);
+    }
+
+    public Optional<CheckoutStatus> status(String orderTrackingNumber) {
+        CheckoutStatus status = statuses.get(orderTrackingNumber);
+        if (status != null) {
+            return Optional.of(status);
+        }
+        return cartRepository.existsByOrderTrackingNumber(orderTrackingNumber)
+                ? Optional.of(CheckoutStatus.ordered(orderTrackingNumber))
+                : Optional.empty();
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "checkout-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drain() {
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = running ? queue.take() : queue.poll();
+                if (first == null) {
+                    break;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+            } catch (InterruptedException e) {
+                // stopping: fall through and write whatever is still queued
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<PendingOrder> batch) {
+        Map<String, Exception> failures = orderBatchWriter.write(batch);
+        for (PendingOrder order : batch) {
+            Exception failure = failures.get(order.orderTrackingNumber());
+            if (failure == null) {
+                statuses.put(order.orderTrackingNumber(), CheckoutStatus.ordered(order.orderTrackingNumber()));
+            } else {
+                statuses.put(order.orderTrackingNumber(), CheckoutStatus.failed(order.orderTrackingNumber(), failure.getMessage()));
+            }
+        }
+    }
+
+    // the client is told "accepted" before anything is written, so reject what the writer could not store
+    private static void validate(Purchase purchase) {
+        if (purchase == null || purchase.getCart() == null || purchase.getCustomer() == null
+                || purchase.getCustomer().getId() == null) {
+            throw new IllegalArgumentException("Purchase needs a cart and an existing customer");
+        }
+        if (purchase.getCartItems() == null || purchase.getCartItems().isEmpty()) {
+            throw new IllegalArgumentException("Purchase has no cart items");
+        }
+        for (CartItem item : purchase.getCartItems()) {
+            if (item.getVacation() == null || item.getVacation().getId() == null) {
+                throw new IllegalArgumentException("Every cart item needs a vacation id");
+            }
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dto.Purchase;
+import com.assessment.demo.entities.CartItem;
+import com.assessment.demo.entities.Customer;
+import com.assessment.demo.entities.Excursion;
+import com.assessment.demo.entities.Vacation;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Function;
+
+/**
+ * Encodes the booking.placed event of an order: customer, party size, package price and every
+ * item's vacation and excursions with their catalog titles and prices. Titles and prices come from
+ * {@link CatalogCache}, never from the client. Selected with {@code outbox.encoding}:
+ * <ul>
+ *     <li>{@code json}: streamed with a Jackson generator; strings are escaped.</li>
+ *     <li>{@code binary}: Base64 of a compact binary form (SQS bodies must be text), about half the size.</li>
+ * </ul>
+ * Both are schema version {@value #SCHEMA_VERSION}; the format before this encoder, four fields and
+ * no version, counts as version 1. Output buffers come from a small pool and are reused.
+ * <p>
+ * Binary layout, strings as varint UTF-8 length + 1 (0 = null) then the bytes, numbers as zigzag
+ * varints, prices in cents:
+ * <pre>
+ * 'B' version trackingNumber placedAtMillis customerId firstName lastName partySize totalPrice
+ * itemCount { vacationId title travelPrice excursionCount { excursionId title price } }
+ * </pre>
+ */
+@Component
+public class BookingEventEncoder {
+
+    public static final int SCHEMA_VERSION = 2;
+    public static final String EVENT_TYPE = "booking.placed";
+    static final byte BINARY_MAGIC = 'B';
+
+    public enum Encoding {
+        JSON, BINARY
+    }
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final int POOL_SIZE = 32;
+    // buffers that grew past this (huge bulk orders) are not kept
+    private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+
+    private final Encoding encoding;
+    private final Function<Collection<Long>, List<Vacation>> vacationLookup;
+    private final Function<Collection<Long>, List<Excursion>> excursionLookup;
+    private final Clock clock;
+    private final BlockingQueue<CharOutput> charBuffers = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final BlockingQueue<ByteOutput> byteBuffers = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    @Autowired
+    public BookingEventEncoder(CatalogCache catalogCache,
+                               @Value("${outbox.encoding:json}") Encoding encoding) {
+        this(encoding, catalogCache::findVacationsByIds, catalogCache::findExcursionsByIds, Clock.systemUTC());
+    }
+
+    public BookingEventEncoder(Encoding encoding,
+                               Function<Collection<Long>, List<Vacation>> vacationLookup,
+                               Function<Collection<Long>, List<Excursion>> excursionLookup,
+                               Clock clock) {
+        this.encoding = encoding;
+        this.vacationLookup = vacationLookup;
+        this.excursionLookup = excursionLookup;
+        this.clock = clock;
+    }
+
+    public String encode(String orderTrackingNumber, Purchase purchase) {
+        Catalog catalog = resolve(purchase);
+        Instant placedAt = clock.instant();
+        return encoding == Encoding.BINARY
+                ? encodeBinary(orderTrackingNumber, placedAt, purchase, catalog)
+                : encodeJson(orderTrackingNumber, placedAt, purchase, catalog);
+    }
+
+    private record Catalog(Map<Long, Vacation> vacations, Map<Long, Excursion> excursions) {
+    }
+
+    private Catalog resolve(Purchase purchase) {
+        Set<Long> vacationIds = new LinkedHashSet<>();
+        Set<Long> excursionIds = new LinkedHashSet<>();
+        for (CartItem item : items(purchase)) {
+            if (item.getVacation() != null && item.getVacation().getId() != null) {
+                vacationIds.add(item.getVacation().getId());
+            }
+            for (Excursion excursion : excursions(item)) {
+                if (excursion.getId() != null) {
+                    excursionIds.add(excursion.getId());
+                }
+            }
+        }
+        Map<Long, Vacation> vacations = new HashMap<>();
+        if (!vacationIds.isEmpty()) {
+            vacationLookup.apply(vacationIds).forEach(vacation -> vacations.put(vacation.getId(), vacation));
+        }
+        Map<Long, Excursion> excursions = new HashMap<>();
+        if (!excursionIds.isEmpty()) {
+            excursionLookup.apply(excursionIds).forEach(excursion -> excursions.put(excursion.getId(), excursion));
+        }
+        return new Catalog(vacations, excursions);
+    }
+
+    private String encodeJson(String orderTrackingNumber, Instant placedAt, Purchase purchase, Catalog catalog) {
+        CharOutput buffer = charBuffer();
+        try (JsonGenerator json = JSON.createGenerator(buffer)) {
+            json.writeStartObject();
+            json.writeStringField("type", EVENT_TYPE);
+            json.writeNumberField("version", SCHEMA_VERSION);
+            json.writeStringField("orderTrackingNumber", orderTrackingNumber);
+            json.writeStringField("placedAt", placedAt.toString());
+
+            Customer customer = purchase.getCustomer();
+            json.writeObjectFieldStart("customer");
+            if (customer != null) {
+                writeNumberField(json, "id", customer.getId());
+                json.writeStringField("firstName", customer.getFirstName());
+                json.writeStringField("lastName", customer.getLastName());
+            }
+            json.writeEndObject();
+
+            json.writeNumberField("partySize", purchase.getCart().getParty_size());
+            json.writeFieldName("totalPrice");
+            json.writeNumber(price(purchase.getCart().getPackage_price()));
+
+            json.writeArrayFieldStart("items");
+            for (CartItem item : items(purchase)) {
+                Vacation vacation = vacation(item, catalog);
+                json.writeStartObject();
+                writeNumberField(json, "vacationId", vacation.getId());
+                json.writeStringField("vacationTitle", vacation.getVacation_title());
+                json.writeFieldName("travelPrice");
+                json.writeNumber(price(vacation.getTravel_price()));
+                json.writeArrayFieldStart("excursions");
+                for (Excursion requested : excursions(item)) {
+                    Excursion excursion = catalog.excursions().getOrDefault(requested.getId(), requested);
+                    json.writeStartObject();
+                    writeNumberField(json, "id", excursion.getId());
+                    json.writeStringField("title", excursion.getExcursion_title());
+                    json.writeFieldName("price");
+                    json.writeNumber(price(excursion.getExcursion_price()));
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            return buffer.toString();
+        } finally {
+            release(charBuffers, buffer, buffer.capacity());
+        }
+    }
+
+    private String encodeBinary(String orderTrackingNumber, Instant placedAt, Purchase purchase, Catalog catalog) {
+        ByteOutput out = byteBuffer();
+        try {
+            out.write(BINARY_MAGIC);
+            out.write(SCHEMA_VERSION);
+            out.writeString(orderTrackingNumber);
+            out.writeLong(placedAt.toEpochMilli());
+            Customer customer = purchase.getCustomer();
+            out.writeLong(customer == null || customer.getId() == null ? -1 : customer.getId());
+            out.writeString(customer == null ? null : customer.getFirstName());
+            out.writeString(customer == null ? null : customer.getLastName());
+            out.writeLong(purchase.getCart().getParty_size());
+            out.writeLong(cents(purchase.getCart().getPackage_price()));
+
+            Collection<CartItem> items = items(purchase);
+            out.writeLong(items.size());
+            for (CartItem item : items) {
+                Vacation vacation = vacation(item, catalog);
+                out.writeLong(vacation.getId() == null ? -1 : vacation.getId());
+                out.writeString(vacation.getVacation_title());
+                out.writeLong(cents(vacation.getTravel_price()));
+                Collection<Excursion> excursions = excursions(item);
+                out.writeLong(excursions.size());
+                for (Excursion requested : excursions) {
+                    Excursion excursion = catalog.excursions().getOrDefault(requested.getId(), requested);
+                    out.writeLong(excursion.getId() == null ? -1 : excursion.getId());
+                    out.writeString(excursion.getExcursion_title());
+                    out.writeLong(cents(excursion.getExcursion_price()));
+                }
+            }
+            return out.toBase64();
+        } finally {
+            release(byteBuffers, out, out.capacity());
+        }
+    }
+
+    private static Collection<CartItem> items(Purchase purchase) {
+        return purchase.getCartItems() == null ? List.of() : purchase.getCartItems();
+    }
+
+    private static Collection<Excursion> excursions(CartItem item) {
+        return item.getExcursions() == null ? List.of() : item.getExcursions();
+    }
+
+    // the client's reference when the catalog does not know the id (it was priced, so it should)
+    private static Vacation vacation(CartItem item, Catalog catalog) {
+        Vacation requested = item.getVacation() == null ? new Vacation() : item.getVacation();
+        return catalog.vacations().getOrDefault(requested.getId(), requested);
+    }
+
+    private static void writeNumberField(JsonGenerator json, String name, Long value) throws IOException {
+        if (value == null) {
+            json.writeNullField(name);
+        } else {
+            json.writeNumberField(name, value);
+        }
+    }
+
+    private static BigDecimal price(BigDecimal price) {
+        return (price == null ? BigDecimal.ZERO : price).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static long cents(BigDecimal price) {
+        return price(price).unscaledValue().longValue();
+    }
+
+    private CharOutput charBuffer() {
+        CharOutput buffer = charBuffers.poll();
+        return buffer == null ? new CharOutput() : buffer.reset();
+    }
+
+    private ByteOutput byteBuffer() {
+        ByteOutput buffer = byteBuffers.poll();
+        if (buffer == null) {
+            return new ByteOutput();
+        }
+        buffer.reset();
+        return buffer;
+    }
+
+    private static <T> void release(BlockingQueue<T> pool, T buffer, int capacity) {
+        if (capacity <= MAX_POOLED_CAPACITY) {
+            pool.offer(buffer);
+        }
+    }
+
+    // Writer over a reusable StringBuilder; unlike StringWriter it is not synchronized
+    private static final class CharOutput extends Writer {
+
+        private final StringBuilder chars = new StringBuilder(512);
+
+        CharOutput reset() {
+            chars.setLength(0);
+            return this;
+        }
+
+        int capacity() {
+            return chars.capacity();
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            chars.append(buffer, offset, length);
+        }
+
+        @Override
+        public void write(String text, int offset, int length) {
+            chars.append(text, offset, offset + length);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return chars.toString();
+        }
+    }
+
+    private static final class ByteOutput extends ByteArrayOutputStream {
+
+        ByteOutput() {
+            super(256);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+
+        void writeLong(long value) {
+            // zigzag, then 7 bits per byte
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                write((int) ((zigzag & 0x7F) | 0x80));
+                zigzag >>>= 7;
+            }
+            write((int) zigzag);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeLong(bytes.length + 1L);
+            write(bytes, 0, bytes.length);
+        }
+
+        String toBase64() {
+            ByteBuffer encoded = Base64.getEncoder().encode(ByteBuffer.wrap(buf, 0, count));
+            return new String(encoded.array(), 0, encoded.limit(), StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.entities.OutboxEvent;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Where the outbox relay publishes booking events. Selected with
+ * {@code outbox.transport} ({@code sqs} by default, or {@code in-memory}).
+ */
+public interface BookingEventTransport {
+
+    // SQS SendMessageBatch takes at most 10 entries
+    int MAX_BATCH_SIZE = 10;
+
+    /**
+     * @param events at most {@link #MAX_BATCH_SIZE} events
+     * @return ids of the events that were published; the others stay in the outbox and are retried
+     */
+    Set<Long> send(List<OutboxEvent> events);
+}
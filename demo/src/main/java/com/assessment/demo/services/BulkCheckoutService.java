@@ -0,0 +1,125 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dao.CustomerRepository;
+import com.assessment.demo.dto.BulkPurchaseResult;
+import com.assessment.demo.dto.PendingOrder;
+import com.assessment.demo.dto.Purchase;
+import com.assessment.demo.entities.Customer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Places many bookings from one request. Every booking is validated and priced first (customers
+ * are checked with one query for the whole request); the valid ones are written
+ * {@code checkout.bulk.chunk-size} per transaction through {@link OrderBatchWriter}, so carts,
+ * cart items and excursion_cartitem rows go out as JDBC batches and a failing booking only fails itself.
+ */
+@Service
+public class BulkCheckoutService {
+
+    private final CheckoutService checkoutService;
+    private final OrderBatchWriter orderBatchWriter;
+    private final PricingEngine pricingEngine;
+    private final CustomerRepository customerRepository;
+    private final int chunkSize;
+    private final int maxSize;
+
+    public BulkCheckoutService(CheckoutService checkoutService,
+                               OrderBatchWriter orderBatchWriter,
+                               PricingEngine pricingEngine,
+                               CustomerRepository customerRepository,
+                               @Value("${checkout.bulk.chunk-size:100}") int chunkSize,
+                               @Value("${checkout.bulk.max-size:1000}") int maxSize) {
+        this.checkoutService = checkoutService;
+        this.orderBatchWriter = orderBatchWriter;
+        this.pricingEngine = pricingEngine;
+        this.customerRepository = customerRepository;
+        this.chunkSize = chunkSize;
+        this.maxSize = maxSize;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return one result per purchase, in request order
+     */
+    public List<BulkPurchaseResult> placeOrders(List<Purchase> purchases) {
+        BulkPurchaseResult[] results = new BulkPurchaseResult[purchases.size()];
+        Set<Long> knownCustomers = existingCustomers(purchases);
+
+        List<PendingOrder> valid = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < purchases.size(); i++) {
+            Purchase purchase = purchases.get(i);
+            try {
+                validate(purchase, knownCustomers);
+                pricingEngine.quote(purchase);
+            } catch (IllegalArgumentException e) {
+                results[i] = BulkPurchaseResult.failed(i, e.getMessage());
+                continue;
+            }
+            // every booking in a bulk request is a new cart
+            purchase.getCart().setId(null);
+            purchase.getCartItems().forEach(item -> item.setId(null));
+            valid.add(new PendingOrder(checkoutService.newOrderTrackingNumber(), purchase));
+            validIndexes.add(i);
+        }
+
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            List<PendingOrder> chunk = valid.subList(from, Math.min(from + chunkSize, valid.size()));
+            Map<String, Exception> failures = orderBatchWriter.write(chunk);
+            for (int j = 0; j < chunk.size(); j++) {
+                PendingOrder order = chunk.get(j);
+                int index = validIndexes.get(from + j);
+                Exception failure = failures.get(order.orderTrackingNumber());
+                if (failure == null) {
+                    results[index] = BulkPurchaseResult.ordered(index, order.orderTrackingNumber());
+                } else {
+                    results[index] = BulkPurchaseResult.failed(index, failure.getMessage());
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private Set<Long> existingCustomers(List<Purchase> purchases) {
+        Set<Long> ids = new HashSet<>();
+        for (Purchase purchase : purchases) {
+            if (purchase != null && purchase.getCustomer() != null && purchase.getCustomer().getId() != null) {
+                ids.add(purchase.getCustomer().getId());
+            }
+        }
+        Set<Long> existing = new HashSet<>();
+        if (!ids.isEmpty()) {
+            customerRepository.findAllById(ids).forEach(customer -> existing.add(customer.getId()));
+        }
+        return existing;
+    }
+
+    private static void validate(Purchase purchase, Set<Long> knownCustomers) {
+        if (purchase == null || purchase.getCart() == null) {
+            throw new IllegalArgumentException("Purchase needs a cart");
+        }
+        Customer customer = purchase.getCustomer();
+        if (customer == null || customer.getId() == null || !knownCustomers.contains(customer.getId())) {
+            throw new IllegalArgumentException("Unknown customer " + (customer == null ? null : customer.getId()));
+        }
+        if (purchase.getCart().getCustomer() != null
+                && !Objects.equals(purchase.getCart().getCustomer().getId(), customer.getId())) {
+            throw new IllegalArgumentException("Cart belongs to another customer");
+        }
+        if (purchase.getCartItems() == null || purchase.getCartItems().stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Purchase has no cart items");
+        }
+    }
+}
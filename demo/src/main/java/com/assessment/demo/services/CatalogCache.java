@@ -0,0 +1,130 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.cache.BoundedTtlCache;
+import com.assessment.demo.cache.CacheStats;
+import com.assessment.demo.dao.ExcursionRepository;
+import com.assessment.demo.dao.VacationRepository;
+import com.assessment.demo.dto.TableVersion;
+import com.assessment.demo.entities.Excursion;
+import com.assessment.demo.entities.Vacation;
+import com.assessment.demo.services.CatalogChangedEvent.CatalogType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache in front of the vacation and excursion repositories.
+ * Entries expire after a TTL and are invalidated by {@link CatalogChangedEvent}s
+ * published from the catalog write endpoints.
+ */
+@Service
+public class CatalogCache {
+
+    private static final String ALL = "all";
+
+    private final VacationRepository vacationRepository;
+    private final ExcursionRepository excursionRepository;
+
+    private final BoundedTtlCache<Long, Vacation> vacations;
+    private final BoundedTtlCache<String, List<Vacation>> vacationList;
+    private final BoundedTtlCache<Long, Excursion> excursions;
+    private final BoundedTtlCache<String, List<Excursion>> excursionList;
+    private final BoundedTtlCache<CatalogType, TableVersion> versions;
+
+    public CatalogCache(VacationRepository vacationRepository,
+                        ExcursionRepository excursionRepository,
+                        @Value("${catalog.cache.max-size:1000}") int maxSize,
+                        @Value("${catalog.cache.ttl:10m}") Duration ttl) {
+        this.vacationRepository = vacationRepository;
+        this.excursionRepository = excursionRepository;
+        this.vacations = new BoundedTtlCache<>("vacations", maxSize, ttl);
+        this.vacationList = new BoundedTtlCache<>("vacationList", 1, ttl);
+        this.excursions = new BoundedTtlCache<>("excursions", maxSize, ttl);
+        this.excursionList = new BoundedTtlCache<>("excursionList", 1, ttl);
+        this.versions = new BoundedTtlCache<>("versions", CatalogType.values().length, ttl);
+    }
+
+    public List<Vacation> findAllVacations() {
+        return vacationList.get(ALL, key -> List.copyOf(vacationRepository.findAll()));
+    }
+
+    public Optional<Vacation> findVacationById(Long id) {
+        return Optional.ofNullable(vacations.get(id, key -> vacationRepository.findById(key).orElse(null)));
+    }
+
+    /**
+     * Vacations for the given ids in the same order, loading all cache misses in one query
+     */
+    public List<Vacation> findVacationsByIds(Collection<Long> ids) {
+        return List.copyOf(vacations.getAll(ids, missing -> vacationRepository.findAllById(missing).stream()
+                .collect(Collectors.toMap(Vacation::getId, Function.identity()))).values());
+    }
+
+    public List<Excursion> findAllExcursions() {
+        return excursionList.get(ALL, key -> List.copyOf(excursionRepository.findAll()));
+    }
+
+    public Optional<Excursion> findExcursionById(Long id) {
+        return Optional.ofNullable(excursions.get(id, key -> excursionRepository.findById(key).orElse(null)));
+    }
+
+    /**
+     * Excursions for the given ids in the same order, loading all cache misses in one query
+     */
+    public List<Excursion> findExcursionsByIds(Collection<Long> ids) {
+        return List.copyOf(excursions.getAll(ids, missing -> excursionRepository.findAllById(missing).stream()
+                .collect(Collectors.toMap(Excursion::getId, Function.identity()))).values());
+    }
+
+    public TableVersion vacationsVersion() {
+        return versions.get(CatalogType.VACATION, key -> vacationRepository.findTableVersion());
+    }
+
+    public TableVersion excursionsVersion() {
+        return versions.get(CatalogType.EXCURSION, key -> excursionRepository.findTableVersion());
+    }
+
+    public List<CacheStats> stats() {
+        return List.of(vacations.stats(), vacationList.stats(), excursions.stats(), excursionList.stats(),
+                versions.stats());
+    }
+
+    // evict before any listener that derives views from this cache
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        switch (event.type()) {
+            case VACATION -> {
+                invalidate(vacations, event.id());
+                vacationList.invalidateAll();
+                // excursions are serialized with their vacation embedded
+                excursions.invalidateAll();
+                excursionList.invalidateAll();
+                versions.invalidateAll();
+            }
+            case EXCURSION -> {
+                invalidate(excursions, event.id());
+                excursionList.invalidateAll();
+                versions.invalidate(CatalogType.EXCURSION);
+            }
+        }
+    }
+
+    private static <V> void invalidate(BoundedTtlCache<Long, V> cache, Long id) {
+        if (id == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(id);
+        }
+    }
+}
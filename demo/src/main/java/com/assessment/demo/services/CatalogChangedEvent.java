@@ -0,0 +1,21 @@
+package com.assessment.demo.services;
+
+/**
+ * Published by the catalog write endpoints after a vacation or excursion was saved or deleted.
+ * A null id means that an unknown number of rows of the given type changed.
+ */
+public record CatalogChangedEvent(CatalogType type, Long id) {
+
+    public enum CatalogType {
+        VACATION,
+        EXCURSION
+    }
+
+    public static CatalogChangedEvent vacation(Long id) {
+        return new CatalogChangedEvent(CatalogType.VACATION, id);
+    }
+
+    public static CatalogChangedEvent excursion(Long id) {
+        return new CatalogChangedEvent(CatalogType.EXCURSION, id);
+    }
+}
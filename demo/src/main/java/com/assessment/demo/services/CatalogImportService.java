@@ -0,0 +1,302 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dto.CatalogImportReport;
+import com.assessment.demo.dto.VacationImport;
+import com.assessment.demo.dto.VacationImport.ExcursionImport;
+import com.assessment.demo.entities.Excursion;
+import com.assessment.demo.entities.Vacation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk import of vacations and their excursions from a JSON array / NDJSON stream or a CSV file.
+ * Input is parsed incrementally and written in transactions of {@code catalog.import.commit-interval}
+ * rows; inside each transaction Hibernate groups the inserts into JDBC batches of
+ * {@code catalog.import.batch-size}. Rows read before a malformed one stay imported.
+ */
+@Service
+public class CatalogImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportService.class);
+
+    private static final List<String> CSV_COLUMNS = List.of("vacation_title", "description", "travel_price", "image_URL",
+            "excursion_title", "excursion_price", "excursion_image_URL");
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int commitInterval;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CatalogImportService(ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${catalog.import.batch-size:50}") int batchSize,
+                                @Value("${catalog.import.commit-interval:1000}") int commitInterval) {
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.commitInterval = commitInterval;
+    }
+
+    /**
+     * Imports a JSON array of vacations, or one vacation object per line
+     */
+    public CatalogImportReport importJson(InputStream in) throws IOException {
+        ImportWriter writer = new ImportWriter();
+        try (MappingIterator<VacationImport> vacations = objectMapper.readerFor(VacationImport.class).readValues(in)) {
+            long index = 0;
+            while (vacations.hasNextValue()) {
+                index++;
+                writer.add(vacations.nextValue(), "vacation " + index);
+            }
+        } catch (JsonProcessingException e) {
+            // malformed input is rejected like a row with a missing field, not reported as an I/O failure
+            String at = e.getLocation() == null ? ""
+                    : " at line " + e.getLocation().getLineNr() + ", column " + e.getLocation().getColumnNr();
+            throw new IllegalArgumentException("invalid JSON" + at + ": " + e.getOriginalMessage(), e);
+        } finally {
+            writer.finish();
+        }
+        return writer.report();
+    }
+
+    /**
+     * Imports CSV with a header row naming (a subset of) {@link #CSV_COLUMNS}.
+     * Each row is one excursion; consecutive rows with the same vacation_title belong to one vacation,
+     * and a row without excursion_title imports the vacation alone.
+     */
+    public CatalogImportReport importCsv(InputStream in) throws IOException {
+        ImportWriter writer = new ImportWriter();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                return writer.report();
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> names = splitCsvLine(stripBom(header));
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim(), i);
+            }
+            if (!columns.containsKey("vacation_title")) {
+                throw new IllegalArgumentException("CSV header must contain vacation_title");
+            }
+
+            VacationImport current = null;
+            long currentLine = 0;
+            long lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = splitCsvLine(line);
+                String title = field(fields, columns, "vacation_title");
+                // rows are grouped by title, so a missing one is rejected before it is compared
+                if (title == null) {
+                    throw new IllegalArgumentException("line " + lineNumber + ": vacation_title is required");
+                }
+                if (current == null || !current.vacation_title().equals(title)) {
+                    if (current != null) {
+                        writer.add(current, "line " + currentLine);
+                    }
+                    current = new VacationImport(title, field(fields, columns, "description"),
+                            decimal(field(fields, columns, "travel_price"), lineNumber), field(fields, columns, "image_URL"),
+                            new ArrayList<>());
+                    currentLine = lineNumber;
+                }
+                String excursionTitle = field(fields, columns, "excursion_title");
+                if (excursionTitle != null) {
+                    current.excursions().add(new ExcursionImport(excursionTitle,
+                            decimal(field(fields, columns, "excursion_price"), lineNumber),
+                            field(fields, columns, "excursion_image_URL")));
+                }
+            }
+            if (current != null) {
+                writer.add(current, "line " + currentLine);
+            }
+        } finally {
+            writer.finish();
+        }
+        return writer.report();
+    }
+
+    /**
+     * Buffers parsed vacations and persists them chunk by chunk, one transaction per chunk.
+     */
+    private final class ImportWriter {
+
+        private final long started = System.nanoTime();
+        private final List<VacationImport> pending = new ArrayList<>();
+        private int pendingRows;
+        private long vacations;
+        private long excursions;
+
+        void add(VacationImport vacation, String location) {
+            validate(vacation, location);
+            pending.add(vacation);
+            pendingRows += 1 + (vacation.excursions() == null ? 0 : vacation.excursions().size());
+            // a vacation and its excursions always land in the same chunk
+            if (pendingRows >= commitInterval) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> persistPending());
+                vacations += pending.size();
+                excursions += pendingRows - pending.size();
+            } finally {
+                pending.clear();
+                pendingRows = 0;
+            }
+        }
+
+        private void persistPending() {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            for (VacationImport item : pending) {
+                Vacation vacation = new Vacation();
+                vacation.setVacation_title(item.vacation_title());
+                vacation.setDescription(item.description());
+                vacation.setTravel_price(item.travel_price());
+                vacation.setImage_URL(item.image_URL());
+                entityManager.persist(vacation);
+                if (item.excursions() == null) {
+                    continue;
+                }
+                for (ExcursionImport excursionItem : item.excursions()) {
+                    Excursion excursion = new Excursion();
+                    excursion.setExcursion_title(excursionItem.excursion_title());
+                    excursion.setExcursion_price(excursionItem.excursion_price());
+                    excursion.setImage_URL(excursionItem.image_URL());
+                    excursion.setVacation(vacation);
+                    entityManager.persist(excursion);
+                }
+            }
+        }
+
+        // writes what is left and lets the catalog caches and indexes rebuild
+        void finish() {
+            try {
+                flush();
+            } finally {
+                if (vacations > 0) {
+                    eventPublisher.publishEvent(CatalogChangedEvent.vacation(null));
+                }
+                CatalogImportReport report = report();
+                logger.info("Catalog import: {} vacations, {} excursions in {} ms ({} rows/s)",
+                        report.vacations(), report.excursions(), report.millis(), report.rowsPerSecond());
+            }
+        }
+
+        CatalogImportReport report() {
+            return CatalogImportReport.of(vacations, excursions, System.nanoTime() - started);
+        }
+    }
+
+    private static void validate(VacationImport vacation, String location) {
+        if (vacation.vacation_title() == null || vacation.vacation_title().isBlank()) {
+            throw new IllegalArgumentException(location + ": vacation_title is required");
+        }
+        requireNonNegative(vacation.travel_price(), location);
+        if (vacation.excursions() == null) {
+            return;
+        }
+        for (ExcursionImport excursion : vacation.excursions()) {
+            if (excursion.excursion_title() == null || excursion.excursion_title().isBlank()) {
+                throw new IllegalArgumentException(location + ": excursion_title is required");
+            }
+            requireNonNegative(excursion.excursion_price(), location);
+        }
+    }
+
+    private static void requireNonNegative(BigDecimal price, String location) {
+        if (price != null && price.signum() < 0) {
+            throw new IllegalArgumentException(location + ": negative price " + price);
+        }
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal decimal(String value, long lineNumber) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("line " + lineNumber + ": invalid price " + value);
+        }
+    }
+
+    private static String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and doubled quotes
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
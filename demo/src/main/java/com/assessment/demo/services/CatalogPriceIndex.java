@@ -0,0 +1,129 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dto.PriceFacet;
+import com.assessment.demo.entities.Excursion;
+import com.assessment.demo.entities.Vacation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Price read model for vacations and excursions. Each catalog is held as a {@link PriceTable}
+ * of sorted cents and ids, so range filters, price sorting and bucket facets never touch
+ * the entities; only the ids of the requested page are resolved through {@link CatalogCache}.
+ * Tables are rebuilt when the application is ready and whenever a {@link CatalogChangedEvent} arrives.
+ */
+@Service
+public class CatalogPriceIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogPriceIndex.class);
+
+    private final CatalogCache catalogCache;
+    private final List<BigDecimal> defaultFacetEdges;
+
+    private volatile PriceTable vacations = PriceTable.EMPTY;
+    private volatile PriceTable excursions = PriceTable.EMPTY;
+
+    public CatalogPriceIndex(CatalogCache catalogCache,
+                             @Value("${catalog.price.facet-edges:0,500,1000,2000,5000}") List<BigDecimal> defaultFacetEdges) {
+        this.catalogCache = catalogCache;
+        this.defaultFacetEdges = List.copyOf(defaultFacetEdges);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildVacations();
+        rebuildExcursions();
+        logger.info("Catalog price index built: {} vacations, {} excursions", vacations.size(), excursions.size());
+    }
+
+    // CatalogCache evicts first (highest precedence), so the rebuild reads fresh rows
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        switch (event.type()) {
+            case VACATION -> {
+                rebuildVacations();
+                // deleting a vacation removes its excursions as well
+                rebuildExcursions();
+            }
+            case EXCURSION -> rebuildExcursions();
+        }
+    }
+
+    public List<Vacation> findVacations(BigDecimal minPrice, BigDecimal maxPrice, boolean descending, int limit) {
+        long[] ids = vacations.idsInRange(minCents(minPrice), maxCents(maxPrice), descending, limit);
+        return catalogCache.findVacationsByIds(boxed(ids));
+    }
+
+    public int countVacations(BigDecimal minPrice, BigDecimal maxPrice) {
+        return vacations.countInRange(minCents(minPrice), maxCents(maxPrice));
+    }
+
+    public List<PriceFacet> vacationFacets(List<BigDecimal> edges) {
+        return facets(vacations, edges);
+    }
+
+    public List<Excursion> findExcursions(BigDecimal minPrice, BigDecimal maxPrice, boolean descending, int limit) {
+        long[] ids = excursions.idsInRange(minCents(minPrice), maxCents(maxPrice), descending, limit);
+        return catalogCache.findExcursionsByIds(boxed(ids));
+    }
+
+    public int countExcursions(BigDecimal minPrice, BigDecimal maxPrice) {
+        return excursions.countInRange(minCents(minPrice), maxCents(maxPrice));
+    }
+
+    public List<PriceFacet> excursionFacets(List<BigDecimal> edges) {
+        return facets(excursions, edges);
+    }
+
+    private void rebuildVacations() {
+        vacations = PriceTable.of(catalogCache.findAllVacations(), Vacation::getId, Vacation::getTravel_price);
+    }
+
+    private void rebuildExcursions() {
+        excursions = PriceTable.of(catalogCache.findAllExcursions(), Excursion::getId, Excursion::getExcursion_price);
+    }
+
+    private List<PriceFacet> facets(PriceTable table, List<BigDecimal> edges) {
+        List<BigDecimal> sortedEdges = new ArrayList<>();
+        for (BigDecimal edge : (edges == null || edges.isEmpty() ? defaultFacetEdges : edges).stream().sorted().toList()) {
+            if (sortedEdges.isEmpty() || sortedEdges.get(sortedEdges.size() - 1).compareTo(edge) != 0) {
+                sortedEdges.add(edge);
+            }
+        }
+        long[] edgesCents = new long[sortedEdges.size()];
+        for (int i = 0; i < edgesCents.length; i++) {
+            edgesCents[i] = PriceTable.toCents(sortedEdges.get(i));
+        }
+        int[] counts = table.bucketCounts(edgesCents);
+        List<PriceFacet> facets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            BigDecimal max = i + 1 < counts.length ? sortedEdges.get(i + 1) : null;
+            facets.add(new PriceFacet(sortedEdges.get(i), max, counts[i]));
+        }
+        return facets;
+    }
+
+    private static long minCents(BigDecimal minPrice) {
+        return minPrice == null ? Long.MIN_VALUE : PriceTable.toCents(minPrice);
+    }
+
+    private static long maxCents(BigDecimal maxPrice) {
+        return maxPrice == null ? Long.MAX_VALUE : PriceTable.toCents(maxPrice);
+    }
+
+    private static List<Long> boxed(long[] ids) {
+        List<Long> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(id);
+        }
+        return result;
+    }
+}
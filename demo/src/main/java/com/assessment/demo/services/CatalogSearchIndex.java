@@ -0,0 +1,267 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dto.SearchHit;
+import com.assessment.demo.entities.Excursion;
+import com.assessment.demo.entities.Vacation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over vacation titles/descriptions and excursion titles.
+ * Terms live in a sorted dictionary so typeahead prefixes resolve with a range scan.
+ * Built when the application is ready and updated per document on {@link CatalogChangedEvent}s.
+ */
+@Service
+public class CatalogSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSearchIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // term weights: a title hit counts more than a description hit, an exact term more than a prefix
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_BOOST = 2;
+    private static final int TITLE_PREFIX_BONUS = 5;
+
+    public enum DocType {
+        VACATION,
+        EXCURSION
+    }
+
+    private record DocKey(DocType type, long id) {
+    }
+
+    private record Doc(DocKey key, String title, String normalizedTitle, Long vacationId, Map<String, Integer> terms) {
+    }
+
+    private final CatalogCache catalogCache;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Map<DocKey, Integer>> postings = new TreeMap<>();
+    private final Map<DocKey, Doc> docs = new HashMap<>();
+
+    public CatalogSearchIndex(CatalogCache catalogCache) {
+        this.catalogCache = catalogCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Vacation> vacations = catalogCache.findAllVacations();
+        List<Excursion> excursions = catalogCache.findAllExcursions();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docs.clear();
+            vacations.forEach(this::indexVacation);
+            excursions.forEach(this::indexExcursion);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Catalog search index built: {} documents, {} terms", docs.size(), postings.size());
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.id() == null) {
+            rebuild();
+            return;
+        }
+        // CatalogCache evicted first, so these reads see the committed state
+        switch (event.type()) {
+            case VACATION -> {
+                Vacation vacation = catalogCache.findVacationById(event.id()).orElse(null);
+                lock.writeLock().lock();
+                try {
+                    remove(new DocKey(DocType.VACATION, event.id()));
+                    if (vacation != null) {
+                        indexVacation(vacation);
+                    } else {
+                        // excursions are deleted with their vacation
+                        docs.values().stream()
+                                .filter(doc -> event.id().equals(doc.vacationId()))
+                                .map(Doc::key)
+                                .toList()
+                                .forEach(this::remove);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            case EXCURSION -> {
+                Excursion excursion = catalogCache.findExcursionById(event.id()).orElse(null);
+                lock.writeLock().lock();
+                try {
+                    remove(new DocKey(DocType.EXCURSION, event.id()));
+                    if (excursion != null) {
+                        indexExcursion(excursion);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Ranked typeahead search. Every query term must match a term of the document,
+     * either exactly or as a prefix.
+     *
+     * @param query free text, the last word may be incomplete
+     * @param type restrict to one document type, or null for both
+     * @param limit maximum number of hits
+     * @return hits ordered by descending score
+     */
+    public List<SearchHit> search(String query, DocType type, int limit) {
+        List<String> queryTerms = new ArrayList<>(tokenize(query));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String normalizedQuery = normalize(query).trim();
+
+        lock.readLock().lock();
+        try {
+            Map<DocKey, Integer> scores = null;
+            for (String term : queryTerms) {
+                Map<DocKey, Integer> termScores = matchTerm(term, type);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<DocKey, Integer> intersection = new HashMap<>();
+                    for (Map.Entry<DocKey, Integer> entry : scores.entrySet()) {
+                        Integer termScore = termScores.get(entry.getKey());
+                        if (termScore != null) {
+                            intersection.put(entry.getKey(), entry.getValue() + termScore);
+                        }
+                    }
+                    scores = intersection;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(scores.size());
+            for (Map.Entry<DocKey, Integer> entry : scores.entrySet()) {
+                Doc doc = docs.get(entry.getKey());
+                int score = entry.getValue();
+                if (doc.normalizedTitle().startsWith(normalizedQuery)) {
+                    score += TITLE_PREFIX_BONUS;
+                }
+                hits.add(new SearchHit(doc.key().type().name().toLowerCase(Locale.ROOT), doc.key().id(),
+                        doc.title(), doc.vacationId(), score));
+            }
+            hits.sort(Comparator.comparingInt(SearchHit::score).reversed()
+                    .thenComparingInt(hit -> hit.title().length())
+                    .thenComparing(SearchHit::id));
+            return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // best weight per document over all dictionary terms starting with the query term
+    private Map<DocKey, Integer> matchTerm(String term, DocType type) {
+        Map<DocKey, Integer> matches = new HashMap<>();
+        for (Map.Entry<String, Map<DocKey, Integer>> posting
+                : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            int boost = posting.getKey().equals(term) ? EXACT_BOOST : 1;
+            for (Map.Entry<DocKey, Integer> doc : posting.getValue().entrySet()) {
+                if (type == null || doc.getKey().type() == type) {
+                    matches.merge(doc.getKey(), doc.getValue() * boost, Math::max);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void indexVacation(Vacation vacation) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, vacation.getVacation_title(), TITLE_WEIGHT);
+        addTerms(terms, vacation.getDescription(), DESCRIPTION_WEIGHT);
+        add(new Doc(new DocKey(DocType.VACATION, vacation.getId()), vacation.getVacation_title(),
+                normalize(vacation.getVacation_title()), null, terms));
+    }
+
+    private void indexExcursion(Excursion excursion) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, excursion.getExcursion_title(), TITLE_WEIGHT);
+        add(new Doc(new DocKey(DocType.EXCURSION, excursion.getId()), excursion.getExcursion_title(),
+                normalize(excursion.getExcursion_title()), ExcursionsByVacationIndex.vacationIdOf(excursion), terms));
+    }
+
+    private void add(Doc doc) {
+        docs.put(doc.key(), doc);
+        doc.terms().forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(doc.key(), weight));
+    }
+
+    private void remove(DocKey key) {
+        Doc doc = docs.remove(key);
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.terms().keySet()) {
+            Map<DocKey, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(key);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String term : tokenize(text)) {
+            terms.merge(term, weight, Integer::sum);
+        }
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String term : SEPARATORS.split(normalize(text))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,122 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.controllers.ApiResponseHelper;
+import com.assessment.demo.dao.ExcursionRepository;
+import com.assessment.demo.dao.VacationRepository;
+import com.assessment.demo.dto.TableVersion;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Pre-serialized "_embedded" list responses for the catalog endpoints.
+ * A snapshot is built on first request and reused until the underlying data changes, either
+ * signalled by a {@link CatalogChangedEvent} or by a table version different from the one it was built for.
+ * Catalog snapshots are read from the repositories rather than {@link CatalogCache}, whose list entries
+ * expire independently of the table versions and could pin a stale body under a new ETag.
+ */
+@Service
+public class CatalogSnapshots {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    private final Slot vacations;
+    private final Slot excursions;
+    private final Slot countries;
+    private final Slot divisions;
+
+    public CatalogSnapshots(ObjectMapper objectMapper,
+                            VacationRepository vacationRepository,
+                            ExcursionRepository excursionRepository,
+                            ReferenceDataRegistry referenceData,
+                            @Value("${catalog.snapshot.enabled:true}") boolean enabled) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.vacations = new Slot("vacations", vacationRepository::findAll);
+        this.excursions = new Slot("excursions", excursionRepository::findAll);
+        this.countries = new Slot("countries", referenceData::countries);
+        this.divisions = new Slot("divisions", referenceData::divisions);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public JsonSnapshot vacations(TableVersion version) {
+        return vacations.get(version);
+    }
+
+    public JsonSnapshot excursions(TableVersion version) {
+        return excursions.get(version);
+    }
+
+    public JsonSnapshot countries(TableVersion version) {
+        return countries.get(version);
+    }
+
+    public JsonSnapshot divisions(TableVersion version) {
+        return divisions.get(version);
+    }
+
+    public void invalidateReferenceData() {
+        countries.invalidate();
+        divisions.invalidate();
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        switch (event.type()) {
+            case VACATION -> {
+                vacations.invalidate();
+                excursions.invalidate();
+            }
+            case EXCURSION -> excursions.invalidate();
+        }
+    }
+
+    private JsonSnapshot serialize(String key, List<?> items) {
+        try {
+            return JsonSnapshot.of(objectMapper.writeValueAsBytes(ApiResponseHelper.wrapEmbedded(key, items)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + key + " snapshot", e);
+        }
+    }
+
+    private final class Slot {
+
+        private final String key;
+        private final Supplier<? extends List<?>> source;
+        private final AtomicReference<State> state = new AtomicReference<>(new State(0, null, null));
+
+        Slot(String key, Supplier<? extends List<?>> source) {
+            this.key = key;
+            this.source = source;
+        }
+
+        JsonSnapshot get(TableVersion tableVersion) {
+            State current = state.get();
+            if (current.snapshot() != null && Objects.equals(current.builtFor(), tableVersion)) {
+                return current.snapshot();
+            }
+            JsonSnapshot built = serialize(key, source.get());
+            // an invalidation during the build replaced the state, so the stale build is not kept
+            state.compareAndSet(current, new State(current.version(), built, tableVersion));
+            return built;
+        }
+
+        void invalidate() {
+            state.updateAndGet(current -> new State(current.version() + 1, null, null));
+        }
+    }
+
+    private record State(long version, JsonSnapshot snapshot, TableVersion builtFor) {
+    }
+}
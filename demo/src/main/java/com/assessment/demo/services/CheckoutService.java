@@ -1,9 +1,17 @@
 package com.assessment.demo.services;
 
+import com.assessment.demo.dto.PendingOrder;
 import com.assessment.demo.dto.Purchase;
 import com.assessment.demo.dto.PurchaseResponse;
 
+import java.util.List;
+
 public interface CheckoutService {
 
     PurchaseResponse placeOrder(Purchase purchase);
+
+    String newOrderTrackingNumber();
+
+    // writes all orders in a single transaction
+    void placeOrders(List<PendingOrder> orders);
 }
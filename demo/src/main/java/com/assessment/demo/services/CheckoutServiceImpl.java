@@ -1,19 +1,22 @@
 package com.assessment.demo.services;
 
+import com.assessment.demo.dto.PendingOrder;
 import com.assessment.demo.dto.Purchase;
 import com.assessment.demo.dto.PurchaseResponse;
 import com.assessment.demo.dao.CustomerRepository;
 import com.assessment.demo.dao.CartRepository;
 import com.assessment.demo.dao.CartItemRepository;
+import com.assessment.demo.dao.OutboxEventRepository;
 import com.assessment.demo.entities.Cart;
 import com.assessment.demo.entities.CartItem;
 import com.assessment.demo.entities.Customer;
+import com.assessment.demo.entities.OutboxEvent;
 import com.assessment.demo.entities.StatusType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Set;
-import java.util.UUID;
 
 @Service
 public class CheckoutServiceImpl implements CheckoutService {
@@ -21,28 +24,65 @@ public class CheckoutServiceImpl implements CheckoutService {
     private CustomerRepository customerRepository;
     private CartRepository cartRepository;
     private CartItemRepository cartItemRepository;
+    private TrackingNumberGenerator trackingNumberGenerator;
+    private IssuedTrackingNumbers issuedTrackingNumbers;
+    private PricingEngine pricingEngine;
+    private OutboxEventRepository outboxEventRepository;
+    private BookingEventEncoder bookingEventEncoder;
 
     public CheckoutServiceImpl(
             CustomerRepository customerRepository,
                                CartRepository cartRepository,
-            CartItemRepository cartItemRepository
+            CartItemRepository cartItemRepository,
+            TrackingNumberGenerator trackingNumberGenerator,
+            IssuedTrackingNumbers issuedTrackingNumbers,
+            PricingEngine pricingEngine,
+            OutboxEventRepository outboxEventRepository,
+            BookingEventEncoder bookingEventEncoder
                                ) {
         this.customerRepository = customerRepository;
         this.cartRepository = cartRepository;
         this.cartItemRepository = cartItemRepository;
+        this.trackingNumberGenerator = trackingNumberGenerator;
+        this.issuedTrackingNumbers = issuedTrackingNumbers;
+        this.pricingEngine = pricingEngine;
+        this.outboxEventRepository = outboxEventRepository;
+        this.bookingEventEncoder = bookingEventEncoder;
     }
 
     @Override
     @Transactional
     public PurchaseResponse placeOrder(Purchase purchase) {
 
-        // retrieve the cart info from dto
-        Cart cart = purchase.getCart();
-
         // generate tracking number
         String orderTrackingNumber = generateOrderTrackingNumber();
+        saveOrder(purchase, orderTrackingNumber);
+
+        // return a response
+        return new PurchaseResponse(orderTrackingNumber);
+    }
+
+    @Override
+    public String newOrderTrackingNumber() {
+        return generateOrderTrackingNumber();
+    }
+
+    @Override
+    @Transactional
+    public void placeOrders(List<PendingOrder> orders) {
+        orders.forEach(order -> saveOrder(order.purchase(), order.orderTrackingNumber()));
+    }
+
+    private void saveOrder(Purchase purchase, String orderTrackingNumber) {
+
+        // retrieve the cart info from dto
+        Cart cart = purchase.getCart();
         cart.setOrderTrackingNumber(orderTrackingNumber);
 
+        // price the cart from the catalog, whatever package_price the client sent
+        cart.setPackage_price(pricingEngine.quote(purchase).package_price());
+        issuedTrackingNumbers.add(orderTrackingNumber);
+
         // populate cart with cartItems
         Set<CartItem> cartItems = purchase.getCartItems();
         cartItems.forEach(item -> item.setCart(cart));
@@ -54,6 +94,9 @@ public class CheckoutServiceImpl implements CheckoutService {
         cartRepository.save(cart);
 //        cartItems.forEach(item -> System.out.println(item));
 
+        // the booking event commits or rolls back with the order; OutboxRelay publishes it
+        outboxEventRepository.save(new OutboxEvent(orderTrackingNumber, bookingEventEncoder.encode(orderTrackingNumber, purchase)));
+
         //populate customer with cart
         Customer customer = purchase.getCustomer();
         customer.add(cart);
@@ -61,15 +104,12 @@ public class CheckoutServiceImpl implements CheckoutService {
         // save customer to the database
         // for some reason the tracking number doesn't populate unless this is commented out
 //        customerRepository.save(customer);
-
-        // return a response
-        return new PurchaseResponse(orderTrackingNumber);
     }
 
     private String generateOrderTrackingNumber() {
 
-        // generate a random UUID number (UUID version-4)
-        return UUID.randomUUID().toString();
+        // time-ordered by default, see checkout.tracking.generator
+        return trackingNumberGenerator.next();
 
     }
 }
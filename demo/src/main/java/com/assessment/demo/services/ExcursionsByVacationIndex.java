@@ -0,0 +1,91 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dao.ExcursionRepository;
+import com.assessment.demo.entities.Excursion;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory vacation id -> excursions index.
+ * Each vacation is loaded once through the indexed repository query and then kept
+ * up to date incrementally by the excursion write endpoints.
+ */
+@Component
+public class ExcursionsByVacationIndex {
+
+    private final ExcursionRepository excursionRepository;
+
+    private final ConcurrentMap<Long, List<Excursion>> excursionsByVacation = new ConcurrentHashMap<>();
+
+    public ExcursionsByVacationIndex(ExcursionRepository excursionRepository) {
+        this.excursionRepository = excursionRepository;
+    }
+
+    /**
+     * Returns the excursions of a vacation, loading them from the database on first access
+     *
+     * @param vacationId Vacation ID
+     * @return immutable list of excursions
+     */
+    public List<Excursion> findByVacationId(Long vacationId) {
+        return excursionsByVacation.computeIfAbsent(vacationId,
+                id -> List.copyOf(excursionRepository.findByVacationId(id)));
+    }
+
+    /**
+     * Adds or replaces an excursion in the list of its vacation
+     *
+     * @param excursion saved excursion
+     */
+    public void put(Excursion excursion) {
+        Long vacationId = vacationIdOf(excursion);
+        if (vacationId == null) {
+            return;
+        }
+        // vacations that were never loaded stay absent and are read fresh on first access
+        excursionsByVacation.computeIfPresent(vacationId, (id, current) -> {
+            List<Excursion> updated = new ArrayList<>(current.size() + 1);
+            for (Excursion existing : current) {
+                if (!existing.getId().equals(excursion.getId())) {
+                    updated.add(existing);
+                }
+            }
+            updated.add(excursion);
+            return List.copyOf(updated);
+        });
+    }
+
+    /**
+     * Removes an excursion from the list of the given vacation
+     *
+     * @param vacationId vacation the excursion belonged to
+     * @param excursionId Excursion ID
+     */
+    public void remove(Long vacationId, Long excursionId) {
+        if (vacationId == null) {
+            return;
+        }
+        excursionsByVacation.computeIfPresent(vacationId, (id, current) -> current.stream()
+                .filter(existing -> !existing.getId().equals(excursionId))
+                .toList());
+    }
+
+    /**
+     * Drops a whole vacation entry, e.g. when the vacation itself changed or was deleted
+     *
+     * @param vacationId Vacation ID
+     */
+    public void evictVacation(Long vacationId) {
+        if (vacationId != null) {
+            excursionsByVacation.remove(vacationId);
+        }
+    }
+
+    public static Long vacationIdOf(Excursion excursion) {
+        return excursion.getVacation() != null ? excursion.getVacation().getId() : null;
+    }
+}
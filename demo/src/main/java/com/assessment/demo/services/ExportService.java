@@ -0,0 +1,168 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dao.CartItemRepository;
+import com.assessment.demo.dao.CartRepository;
+import com.assessment.demo.dao.CustomerRepository;
+import com.assessment.demo.dto.CartExportRow;
+import com.assessment.demo.dto.CartItemExportRow;
+import com.assessment.demo.entities.Customer;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables as newline-delimited JSON.
+ * Rows are read through forward-only cursors and written one by one with a streaming generator,
+ * so memory stays flat no matter how large the table is.
+ */
+@Service
+public class ExportService {
+
+    private final CustomerRepository customerRepository;
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final ObjectMapper objectMapper;
+    private final int flushInterval;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ExportService(CustomerRepository customerRepository,
+                         CartRepository cartRepository,
+                         CartItemRepository cartItemRepository,
+                         ObjectMapper objectMapper,
+                         @Value("${export.flush-interval:500}") int flushInterval) {
+        this.customerRepository = customerRepository;
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.objectMapper = objectMapper;
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Writes every customer as one JSON line
+     *
+     * @param out response stream, left open
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportCustomers(OutputStream out) throws IOException {
+        try (Stream<Customer> customers = customerRepository.streamAllWithDivision();
+             JsonGenerator json = newGenerator(out)) {
+            return writeLines(customers, json, (customer, g) -> {
+                g.writeNumberField("id", customer.getId());
+                g.writeStringField("firstName", customer.getFirstName());
+                g.writeStringField("lastName", customer.getLastName());
+                g.writeStringField("address", customer.getAddress());
+                g.writeStringField("postal_code", customer.getPostal_code());
+                g.writeStringField("phone", customer.getPhone());
+                writeId(g, "division_id", customer.getDivision() != null ? customer.getDivision().getId() : null);
+                writeDate(g, "create_date", customer.getCreate_date());
+                writeDate(g, "last_update", customer.getLast_update());
+            }, true);
+        }
+    }
+
+    /**
+     * Writes every cart as one JSON line
+     *
+     * @param out response stream, left open
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportCarts(OutputStream out) throws IOException {
+        try (Stream<CartExportRow> carts = cartRepository.streamExportRows();
+             JsonGenerator json = newGenerator(out)) {
+            return writeLines(carts, json, (cart, g) -> {
+                g.writeNumberField("id", cart.id());
+                g.writeStringField("orderTrackingNumber", cart.orderTrackingNumber());
+                if (cart.packagePrice() != null) {
+                    g.writeNumberField("package_price", cart.packagePrice());
+                } else {
+                    g.writeNullField("package_price");
+                }
+                g.writeNumberField("party_size", cart.partySize());
+                g.writeStringField("status", cart.status() != null ? cart.status().name() : null);
+                writeId(g, "customer_id", cart.customerId());
+                writeDate(g, "create_date", cart.createDate());
+                writeDate(g, "last_update", cart.lastUpdate());
+            }, false);
+        }
+    }
+
+    /**
+     * Writes every cart item as one JSON line
+     *
+     * @param out response stream, left open
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportCartItems(OutputStream out) throws IOException {
+        try (Stream<CartItemExportRow> cartItems = cartItemRepository.streamExportRows();
+             JsonGenerator json = newGenerator(out)) {
+            return writeLines(cartItems, json, (item, g) -> {
+                g.writeNumberField("id", item.id());
+                writeId(g, "cart_id", item.cartId());
+                writeId(g, "vacation_id", item.vacationId());
+                writeDate(g, "create_date", item.createDate());
+                writeDate(g, "last_update", item.lastUpdate());
+            }, false);
+        }
+    }
+
+    private JsonGenerator newGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        // the servlet container owns the response stream
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    private <T> long writeLines(Stream<T> rows, JsonGenerator json, RowWriter<T> writer, boolean managedRows)
+            throws IOException {
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            json.writeStartObject();
+            writer.write(iterator.next(), json);
+            json.writeEndObject();
+            json.writeRaw('\n');
+            if (++count % flushInterval == 0) {
+                json.flush();
+                if (managedRows) {
+                    // entities read so far are no longer needed; keep the persistence context from growing
+                    entityManager.clear();
+                }
+            }
+        }
+        json.flush();
+        return count;
+    }
+
+    private static void writeId(JsonGenerator g, String field, Long id) throws IOException {
+        if (id != null) {
+            g.writeNumberField(field, id);
+        } else {
+            g.writeNullField(field);
+        }
+    }
+
+    private static void writeDate(JsonGenerator g, String field, Date date) throws IOException {
+        g.writeStringField(field, date != null ? date.toInstant().toString() : null);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T row, JsonGenerator generator) throws IOException;
+    }
+}
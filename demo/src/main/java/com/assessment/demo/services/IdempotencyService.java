@@ -0,0 +1,153 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.cache.BoundedTtlCache;
+import com.assessment.demo.dao.IdempotencyRecordRepository;
+import com.assessment.demo.dto.PurchaseResponse;
+import com.assessment.demo.entities.IdempotencyRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs a checkout at most once per client Idempotency-Key.
+ * Answered keys are kept in a bounded in-memory cache backed by the idempotency_keys table; the
+ * key is claimed before the checkout runs, in the same transaction as the order, so a committed order
+ * always has its key. Concurrent requests with the same key wait for the one that is executing and
+ * share its result; a duplicate from another node waits on the claimed row and replays the winner.
+ * Keys expire after {@code checkout.idempotency.ttl}.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * Response for a key and whether it was replayed rather than produced by this call
+     */
+    public record Outcome(PurchaseResponse response, boolean replayed) {
+    }
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final BoundedTtlCache<String, PurchaseResponse> answered;
+    private final ConcurrentMap<String, CompletableFuture<PurchaseResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final AtomicLong nextPurge = new AtomicLong();
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${checkout.idempotency.max-size:10000}") int maxSize,
+                              @Value("${checkout.idempotency.ttl:24h}") Duration ttl) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.answered = new BoundedTtlCache<>("idempotencyKeys", maxSize, ttl);
+        this.ttl = ttl;
+    }
+
+    /**
+     * Returns the stored response for {@code key}, or runs {@code checkout} and stores its response.
+     * A failed checkout stores nothing, so the client may retry it with the same key.
+     *
+     * @throws IllegalArgumentException when the key is blank or too long
+     */
+    public Outcome execute(String key, Supplier<PurchaseResponse> checkout) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        PurchaseResponse cached = answered.get(key);
+        if (cached != null) {
+            return new Outcome(cached, true);
+        }
+
+        CompletableFuture<PurchaseResponse> execution = new CompletableFuture<>();
+        CompletableFuture<PurchaseResponse> running = inFlight.putIfAbsent(key, execution);
+        if (running != null) {
+            return new Outcome(await(running), true);
+        }
+        try {
+            Outcome outcome = executeOnce(key, checkout);
+            answered.put(key, outcome.response());
+            execution.complete(outcome.response());
+            return outcome;
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    private Outcome executeOnce(String key, Supplier<PurchaseResponse> checkout) {
+        purgeExpiredKeys();
+        return transactionTemplate.execute(status -> {
+            Optional<PurchaseResponse> stored = claim(key);
+            if (stored.isPresent()) {
+                return new Outcome(stored.get(), true);
+            }
+            // a failed checkout rolls the claim back with the order
+            PurchaseResponse response = checkout.get();
+            repository.recordResponse(key, response.getOrderTrackingNumber());
+            return new Outcome(response, false);
+        });
+    }
+
+    // empty once this transaction holds the key, otherwise the response committed for it
+    private Optional<PurchaseResponse> claim(String key) {
+        while (repository.claim(key, new Date()) == 0) {
+            Optional<IdempotencyRecord> record = repository.findById(key);
+            if (record.isPresent() && !isExpired(record.get())) {
+                return Optional.of(new PurchaseResponse(record.get().getOrderTrackingNumber()));
+            }
+            // expired, or purged since the insert: free the key and claim it again
+            record.ifPresent(repository::delete);
+            repository.flush();
+        }
+        return Optional.empty();
+    }
+
+    private boolean isExpired(IdempotencyRecord record) {
+        return record.getCreate_date() != null
+                && record.getCreate_date().getTime() < System.currentTimeMillis() - ttl.toMillis();
+    }
+
+    // at most once per TTL, whichever request gets here first deletes the expired rows
+    private void purgeExpiredKeys() {
+        long now = System.currentTimeMillis();
+        long due = nextPurge.get();
+        if (now < due || !nextPurge.compareAndSet(due, now + ttl.toMillis())) {
+            return;
+        }
+        try {
+            int deleted = repository.deleteCreatedBefore(new Date(now - ttl.toMillis()));
+            logger.debug("Purged {} expired idempotency keys", deleted);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to purge expired idempotency keys: {}", e.getMessage());
+        }
+    }
+
+    private static PurchaseResponse await(CompletableFuture<PurchaseResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.entities.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the last {@code outbox.in-memory.capacity} published payloads in memory, so the outbox
+ * and its relay run without AWS (local runs with {@code --spring.profiles.active=local}, tests).
+ * Events published here go nowhere, so it is never selected unless asked for.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.transport", havingValue = "in-memory")
+public class InMemoryBookingEventTransport implements BookingEventTransport {
+
+    private final int capacity;
+    private final ArrayDeque<String> sent = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long sentCount;
+
+    public InMemoryBookingEventTransport(@Value("${outbox.in-memory.capacity:1000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public Set<Long> send(List<OutboxEvent> events) {
+        Set<Long> delivered = new HashSet<>();
+        lock.lock();
+        try {
+            for (OutboxEvent event : events) {
+                if (sent.size() == capacity) {
+                    sent.removeFirst();
+                }
+                sent.addLast(event.getPayload());
+                sentCount++;
+                delivered.add(event.getId());
+            }
+        } finally {
+            lock.unlock();
+        }
+        return delivered;
+    }
+
+    // oldest first
+    public List<String> sent() {
+        lock.lock();
+        try {
+            return List.copyOf(sent);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long sentCount() {
+        lock.lock();
+        try {
+            return sentCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
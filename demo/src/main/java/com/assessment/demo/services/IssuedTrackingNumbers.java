@@ -0,0 +1,121 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.cache.BloomFilter;
+import com.assessment.demo.cache.BoundedTtlCache;
+import com.assessment.demo.dao.CartRepository;
+import com.assessment.demo.dto.TrackingNumberRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of every tracking number ever issued, so lookups of made-up numbers are answered
+ * without touching the database. Filled from the carts table when the application is ready and fed
+ * by the checkout as it issues numbers. A miss is final for a malformed number, a number stamped in
+ * the future and one stamped before the filter was loaded (minus {@code orders.bloom.clock-tolerance}
+ * for clock skew and checkouts still committing). Only a recent number, which another instance may have
+ * issued, is confirmed with the indexed lookup on order_tracking_number; numbers found there are added,
+ * the rest are remembered as missing for {@code orders.bloom.miss-cache.ttl}.
+ * With {@code checkout.tracking.generator=uuid} numbers carry no time, so every miss is looked up.
+ */
+@Component
+public class IssuedTrackingNumbers {
+
+    private static final Logger logger = LoggerFactory.getLogger(IssuedTrackingNumbers.class);
+
+    private final CartRepository cartRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final BloomFilter filter;
+    private final BoundedTtlCache<String, Boolean> misses;
+    private final boolean timeOrdered;
+    private final long clockToleranceMillis;
+    private final LongSupplier clock;
+
+    private volatile boolean loaded;
+    private volatile long loadedFrom;
+
+    @Autowired
+    public IssuedTrackingNumbers(CartRepository cartRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${orders.bloom.expected-insertions:1000000}") long expectedInsertions,
+                                 @Value("${orders.bloom.false-positive-probability:0.01}") double falsePositiveProbability,
+                                 @Value("${orders.bloom.miss-cache.max-size:10000}") int missCacheSize,
+                                 @Value("${orders.bloom.miss-cache.ttl:1m}") Duration missCacheTtl,
+                                 @Value("${orders.bloom.clock-tolerance:1m}") Duration clockTolerance,
+                                 @Value("${checkout.tracking.generator:time-ordered}") String generator) {
+        this(cartRepository, transactionManager, expectedInsertions, falsePositiveProbability, missCacheSize,
+                missCacheTtl, clockTolerance, "time-ordered".equals(generator), System::currentTimeMillis);
+    }
+
+    IssuedTrackingNumbers(CartRepository cartRepository, PlatformTransactionManager transactionManager,
+                          long expectedInsertions, double falsePositiveProbability, int missCacheSize,
+                          Duration missCacheTtl, Duration clockTolerance, boolean timeOrdered, LongSupplier clock) {
+        this.cartRepository = cartRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        this.misses = new BoundedTtlCache<>("trackingNumberMisses", missCacheSize, missCacheTtl);
+        this.timeOrdered = timeOrdered;
+        this.clockToleranceMillis = clockTolerance.toMillis();
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = clock.getAsLong();
+        Long count = readOnlyTransaction.execute(status -> {
+            long read = 0;
+            try (Stream<TrackingNumberRow> rows = cartRepository.streamTrackingNumbersAfter(0L)) {
+                for (TrackingNumberRow row : (Iterable<TrackingNumberRow>) rows::iterator) {
+                    filter.add(row.orderTrackingNumber());
+                    read++;
+                }
+            }
+            return read;
+        });
+        loadedFrom = started - clockToleranceMillis;
+        loaded = true;
+        logger.info("Issued tracking number filter loaded: {} numbers, {} bits, {} hashes",
+                count, filter.bitCount(), filter.hashCount());
+    }
+
+    public void add(String orderTrackingNumber) {
+        filter.add(orderTrackingNumber);
+        misses.invalidate(orderTrackingNumber);
+    }
+
+    /**
+     * False only when the number was not issued, or was not yet issued when last looked up
+     */
+    public boolean mightExist(String orderTrackingNumber) {
+        if (!loaded || filter.mightContain(orderTrackingNumber)) {
+            return true;
+        }
+        if (timeOrdered) {
+            long issuedAt = TimeOrderedTrackingNumberGenerator.timestampOf(orderTrackingNumber);
+            // malformed, stamped in the future, or old enough that the load would have seen it
+            if (issuedAt < loadedFrom || issuedAt > clock.getAsLong() + clockToleranceMillis) {
+                return false;
+            }
+        }
+        if (misses.get(orderTrackingNumber) != null) {
+            return false;
+        }
+        if (cartRepository.existsByOrderTrackingNumber(orderTrackingNumber)) {
+            filter.add(orderTrackingNumber);
+            return true;
+        }
+        misses.put(orderTrackingNumber, Boolean.TRUE);
+        return false;
+    }
+}
@@ -0,0 +1,23 @@
+package com.assessment.demo.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A response body serialized once, kept both as plain JSON and gzip-compressed.
+ * The arrays are never handed out for modification, only written to responses.
+ */
+public record JsonSnapshot(byte[] json, byte[] gzip) {
+
+    public static JsonSnapshot of(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new JsonSnapshot(json, compressed.toByteArray());
+    }
+}
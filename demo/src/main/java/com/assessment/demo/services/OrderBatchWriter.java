@@ -0,0 +1,69 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dto.PendingOrder;
+import com.assessment.demo.entities.Cart;
+import com.assessment.demo.entities.CartItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a group of orders in one transaction (one JDBC batch per table). If the group fails,
+ * each order is retried in its own transaction, so only the orders that fail on their own are lost.
+ */
+@Component
+public class OrderBatchWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderBatchWriter.class);
+
+    private final CheckoutService checkoutService;
+
+    public OrderBatchWriter(CheckoutService checkoutService) {
+        this.checkoutService = checkoutService;
+    }
+
+    /**
+     * @return the error of every order that was not written, keyed by tracking number; empty when all were written
+     */
+    public Map<String, Exception> write(List<PendingOrder> orders) {
+        if (orders.isEmpty()) {
+            return Map.of();
+        }
+        List<Runnable> idResets = orders.stream().map(OrderBatchWriter::idReset).toList();
+        try {
+            checkoutService.placeOrders(orders);
+            return Map.of();
+        } catch (Exception groupFailure) {
+            logger.warn("Order group of {} failed, retrying orders one by one: {}", orders.size(), groupFailure.getMessage());
+        }
+        idResets.forEach(Runnable::run);
+        Map<String, Exception> failures = new HashMap<>();
+        for (PendingOrder order : orders) {
+            try {
+                checkoutService.placeOrders(List.of(order));
+            } catch (Exception e) {
+                logger.error("Order {} failed: {}", order.orderTrackingNumber(), e.getMessage());
+                failures.put(order.orderTrackingNumber(), e);
+            }
+        }
+        return failures;
+    }
+
+    // a rolled back insert leaves its generated ids on the entities; this puts back the submitted ones
+    private static Runnable idReset(PendingOrder order) {
+        Cart cart = order.purchase().getCart();
+        Long cartId = cart.getId();
+        List<CartItem> items = List.copyOf(order.purchase().getCartItems());
+        List<Long> itemIds = items.stream().map(CartItem::getId).toList();
+        return () -> {
+            cart.setId(cartId);
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).setId(itemIds.get(i));
+            }
+        };
+    }
+}
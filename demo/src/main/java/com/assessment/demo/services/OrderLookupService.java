@@ -0,0 +1,63 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.cache.BoundedTtlCache;
+import com.assessment.demo.cache.CacheStats;
+import com.assessment.demo.dao.CartRepository;
+import com.assessment.demo.dao.CustomerRepository;
+import com.assessment.demo.dto.KeysetPage;
+import com.assessment.demo.dto.OrderDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Order lookup by tracking number: the issued-number filter turns away numbers that were never
+ * handed out, a small LRU cache answers repeat lookups, and a miss costs one fetch-joined query.
+ * A customer's order history is read page by page in two statements.
+ */
+@Service
+public class OrderLookupService {
+
+    private final CartRepository cartRepository;
+    private final CustomerRepository customerRepository;
+    private final IssuedTrackingNumbers issuedTrackingNumbers;
+    private final BoundedTtlCache<String, OrderDto> recentOrders;
+
+    public OrderLookupService(CartRepository cartRepository, CustomerRepository customerRepository,
+                              IssuedTrackingNumbers issuedTrackingNumbers,
+                              @Value("${orders.cache.max-size:500}") int maxSize,
+                              @Value("${orders.cache.ttl:5m}") Duration ttl) {
+        this.cartRepository = cartRepository;
+        this.customerRepository = customerRepository;
+        this.issuedTrackingNumbers = issuedTrackingNumbers;
+        this.recentOrders = new BoundedTtlCache<>("orders", maxSize, ttl);
+    }
+
+    public Optional<OrderDto> findByTrackingNumber(String orderTrackingNumber) {
+        if (!issuedTrackingNumbers.mightExist(orderTrackingNumber)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(recentOrders.get(orderTrackingNumber,
+                key -> cartRepository.findOrderByTrackingNumber(key).map(OrderDto::from).orElse(null)));
+    }
+
+    /**
+     * One keyset page of a customer's orders: the page of cart ids, then those carts with customer,
+     * items, vacations and excursions fetch-joined, so two statements however large the orders are.
+     * Empty if the customer does not exist.
+     */
+    public Optional<List<OrderDto>> findByCustomerId(Long customerId, KeysetPage page) {
+        List<Long> ids = cartRepository.findIdsByCustomerId(customerId, page.after(), page.toLimit());
+        if (ids.isEmpty()) {
+            return customerRepository.existsById(customerId) ? Optional.of(List.of()) : Optional.empty();
+        }
+        return Optional.of(cartRepository.findOrdersByIdIn(ids).stream().map(OrderDto::from).toList());
+    }
+
+    public CacheStats stats() {
+        return recentOrders.stats();
+    }
+}
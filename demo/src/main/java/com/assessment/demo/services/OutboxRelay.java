@@ -0,0 +1,211 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dao.OutboxEventRepository;
+import com.assessment.demo.entities.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Publishes the booking events the checkout writes to booking_outbox. Every
+ * {@code outbox.relay.interval} it claims up to {@code outbox.relay.batch-size} undelivered rows
+ * (FOR UPDATE SKIP LOCKED, so several instances can relay side by side), sends them through the
+ * {@link BookingEventTransport} in groups of ten and marks the sent ones delivered in the same
+ * transaction. Rows that were not sent keep their place but are not claimed again before
+ * {@code outbox.relay.retry-backoff}, doubled after each failure up to
+ * {@code outbox.relay.max-retry-backoff}, so an SQS outage is waited out instead of burning through
+ * the attempts. A row that failed {@code outbox.relay.max-attempts} times is parked (kept, no longer
+ * claimed) so a poison event cannot hold up the rows behind it; {@link #redriveParked()} queues the
+ * parked rows again.
+ */
+@Component
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final BookingEventTransport transport;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration interval;
+    private final Duration retention;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final LongSupplier clock;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+    private long lastPurge = System.nanoTime();
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       BookingEventTransport transport,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.max-attempts:20}") int maxAttempts,
+                       @Value("${outbox.relay.interval:1s}") Duration interval,
+                       @Value("${outbox.relay.retry-backoff:1s}") Duration retryBackoff,
+                       @Value("${outbox.relay.max-retry-backoff:10m}") Duration maxRetryBackoff,
+                       @Value("${outbox.retention:7d}") Duration retention) {
+        this(outboxEventRepository, transport, transactionManager, enabled, batchSize, maxAttempts, interval,
+                retryBackoff, maxRetryBackoff, retention, System::currentTimeMillis);
+    }
+
+    OutboxRelay(OutboxEventRepository outboxEventRepository, BookingEventTransport transport,
+                PlatformTransactionManager transactionManager, boolean enabled, int batchSize, int maxAttempts,
+                Duration interval, Duration retryBackoff, Duration maxRetryBackoff, Duration retention,
+                LongSupplier clock) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transport = transport;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.interval = interval;
+        this.retention = retention;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.clock = clock;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::run, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        try {
+            // keep going while there is a backlog, stop at the first batch that was short or not fully sent
+            while (running && relayOnce() == batchSize) {
+                Thread.onSpinWait();
+            }
+            purgeDelivered();
+        } catch (Exception e) {
+            logger.warn("Outbox relay run failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the number of events published
+     */
+    int relayOnce() {
+        Integer delivered = transaction.execute(status -> {
+            long now = clock.getAsLong();
+            List<OutboxEvent> claimed = outboxEventRepository.claimPending(batchSize, new Date(now));
+            if (claimed.isEmpty()) {
+                return 0;
+            }
+            Set<Long> sent = new HashSet<>();
+            for (int from = 0; from < claimed.size(); from += BookingEventTransport.MAX_BATCH_SIZE) {
+                List<OutboxEvent> batch = claimed.subList(from, Math.min(from + BookingEventTransport.MAX_BATCH_SIZE, claimed.size()));
+                try {
+                    sent.addAll(transport.send(batch));
+                } catch (Exception e) {
+                    logger.warn("Publishing {} booking events failed: {}", batch.size(), e.getMessage());
+                }
+            }
+            if (!sent.isEmpty()) {
+                outboxEventRepository.markDelivered(sent, new Date(now));
+            }
+            // unsent rows with the same attempt count share their next attempt time, one update per group
+            Map<Integer, Set<Long>> retries = new TreeMap<>();
+            Set<Long> exhausted = new HashSet<>();
+            for (OutboxEvent event : claimed) {
+                if (sent.contains(event.getId())) {
+                    continue;
+                }
+                int attempts = event.getAttempts() + 1;
+                if (attempts >= maxAttempts) {
+                    exhausted.add(event.getId());
+                } else {
+                    retries.computeIfAbsent(attempts, ignored -> new HashSet<>()).add(event.getId());
+                }
+            }
+            retries.forEach((attempts, ids) ->
+                    outboxEventRepository.scheduleRetry(ids, new Date(now + backoff(attempts).toMillis())));
+            if (!exhausted.isEmpty()) {
+                outboxEventRepository.park(exhausted, new Date(now));
+                logger.warn("Parked {} booking events after {} failed attempts", exhausted.size(), maxAttempts);
+            }
+            return sent.size();
+        });
+        return delivered == null ? 0 : delivered;
+    }
+
+    /**
+     * Queues the parked events again, with a fresh set of attempts; for after the cause was fixed
+     *
+     * @return the number of events queued again
+     */
+    public int redriveParked() {
+        Integer redriven = transaction.execute(status -> outboxEventRepository.redriveParked());
+        logger.info("Queued {} parked booking events again", redriven);
+        return redriven;
+    }
+
+    // retry-backoff after the first failure, doubled after each further one, capped at max-retry-backoff
+    Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    // delivered rows are kept for a while for troubleshooting, then dropped, at most once per hour
+    private void purgeDelivered() {
+        long now = System.nanoTime();
+        if (now - lastPurge < TimeUnit.HOURS.toNanos(1)) {
+            return;
+        }
+        lastPurge = now;
+        int purged = outboxEventRepository.deleteDeliveredBefore(new Date(System.currentTimeMillis() - retention.toMillis()));
+        if (purged > 0) {
+            logger.info("Purged {} delivered outbox events", purged);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.assessment.demo.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable price read model: parallel primitive arrays of prices in cents and item ids,
+ * sorted by price (then id). Range and bucket queries are answered by binary search.
+ */
+public final class PriceTable {
+
+    public static final PriceTable EMPTY = new PriceTable(new long[0], new long[0]);
+
+    private static final BigDecimal MAX_CENTS = BigDecimal.valueOf(Long.MAX_VALUE);
+    private static final BigDecimal MIN_CENTS = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    private final long[] cents;
+    private final long[] ids;
+
+    private PriceTable(long[] cents, long[] ids) {
+        this.cents = cents;
+        this.ids = ids;
+    }
+
+    /**
+     * Builds a table from catalog items; items without id or price are skipped
+     */
+    public static <T> PriceTable of(Iterable<T> items, ToLongFunction<T> idOf, Function<T, BigDecimal> priceOf) {
+        int size = 0;
+        long[][] rows = new long[16][];
+        for (T item : items) {
+            BigDecimal price = priceOf.apply(item);
+            if (price == null) {
+                continue;
+            }
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = new long[]{toCents(price), idOf.applyAsLong(item)};
+        }
+        long[][] sorted = Arrays.copyOf(rows, size);
+        Arrays.sort(sorted, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        long[] cents = new long[size];
+        long[] ids = new long[size];
+        for (int i = 0; i < size; i++) {
+            cents[i] = sorted[i][0];
+            ids[i] = sorted[i][1];
+        }
+        return new PriceTable(cents, ids);
+    }
+
+    // request bounds beyond the long range are clamped, they match the same rows as the extreme values.
+    // The magnitude is checked before rescaling: setScale on 1e10000000 or 1e-10000000 costs seconds of CPU
+    public static long toCents(BigDecimal price) {
+        if (price.signum() == 0) {
+            return 0;
+        }
+        // the price lies in [10^(digits-1), 10^digits), so its cents have digits + 2 integer digits
+        long digits = (long) price.precision() - price.scale();
+        if (digits + 2 > 19) {
+            return price.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        if (digits + 2 < 0) {
+            // below a tenth of a cent, rounds to zero
+            return 0;
+        }
+        BigDecimal cents = price.movePointRight(2).setScale(0, RoundingMode.HALF_UP);
+        if (cents.compareTo(MAX_CENTS) > 0) {
+            return Long.MAX_VALUE;
+        }
+        if (cents.compareTo(MIN_CENTS) < 0) {
+            return Long.MIN_VALUE;
+        }
+        return cents.longValue();
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Index of the first entry priced at or above {@code minCents}
+     */
+    public int lowerBound(long minCents) {
+        int lo = 0;
+        int hi = cents.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cents[mid] < minCents) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Index after the last entry priced at or below {@code maxCents}
+     */
+    public int upperBound(long maxCents) {
+        int lo = 0;
+        int hi = cents.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cents[mid] <= maxCents) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Ids priced within [minCents, maxCents], cheapest first or most expensive first
+     */
+    public long[] idsInRange(long minCents, long maxCents, boolean descending, int limit) {
+        int from = lowerBound(minCents);
+        int to = upperBound(maxCents);
+        int count = Math.max(0, Math.min(to - from, limit));
+        long[] result = new long[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = descending ? ids[to - 1 - i] : ids[from + i];
+        }
+        return result;
+    }
+
+    public int countInRange(long minCents, long maxCents) {
+        return Math.max(0, upperBound(maxCents) - lowerBound(minCents));
+    }
+
+    /**
+     * Counts per bucket [edge[i], edge[i+1]); the last bucket is open-ended
+     */
+    public int[] bucketCounts(long[] edgesCents) {
+        int[] counts = new int[edgesCents.length];
+        for (int i = 0; i < edgesCents.length; i++) {
+            int from = lowerBound(edgesCents[i]);
+            int to = i + 1 < edgesCents.length ? lowerBound(edgesCents[i + 1]) : cents.length;
+            counts[i] = Math.max(0, to - from);
+        }
+        return counts;
+    }
+}
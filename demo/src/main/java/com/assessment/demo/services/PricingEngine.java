@@ -0,0 +1,107 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dto.Purchase;
+import com.assessment.demo.dto.Quote;
+import com.assessment.demo.entities.CartItem;
+import com.assessment.demo.entities.Excursion;
+import com.assessment.demo.entities.Vacation;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Prices carts from the catalog instead of trusting the client's package_price.
+ * Prices come from {@link CatalogCache}; all vacation ids, then all excursion ids of a cart are
+ * resolved together, so a cart costs at most two queries when the cache is cold and none when warm.
+ */
+@Service
+public class PricingEngine {
+
+    private final CatalogCache catalogCache;
+
+    public PricingEngine(CatalogCache catalogCache) {
+        this.catalogCache = catalogCache;
+    }
+
+    /**
+     * @throws IllegalArgumentException for an empty cart, a party size below one, unknown ids or
+     *                                  an excursion that does not belong to its item's vacation
+     */
+    public Quote quote(Purchase purchase) {
+        if (purchase == null || purchase.getCartItems() == null || purchase.getCartItems().isEmpty()) {
+            throw new IllegalArgumentException("Cart has no items");
+        }
+        int partySize = purchase.getCart() == null ? 1 : purchase.getCart().getParty_size();
+        if (partySize < 1) {
+            throw new IllegalArgumentException("party_size must be at least 1");
+        }
+
+        Set<Long> vacationIds = new LinkedHashSet<>();
+        Set<Long> excursionIds = new LinkedHashSet<>();
+        for (CartItem item : purchase.getCartItems()) {
+            if (item.getVacation() == null || item.getVacation().getId() == null) {
+                throw new IllegalArgumentException("Every cart item needs a vacation id");
+            }
+            vacationIds.add(item.getVacation().getId());
+            if (item.getExcursions() != null) {
+                for (Excursion excursion : item.getExcursions()) {
+                    if (excursion.getId() == null) {
+                        throw new IllegalArgumentException("Every excursion needs an id");
+                    }
+                    excursionIds.add(excursion.getId());
+                }
+            }
+        }
+        Map<Long, Vacation> vacations = byId(catalogCache.findVacationsByIds(vacationIds), Vacation::getId);
+        Map<Long, Excursion> excursions = excursionIds.isEmpty()
+                ? Map.of()
+                : byId(catalogCache.findExcursionsByIds(excursionIds), Excursion::getId);
+
+        List<Quote.Line> lines = new ArrayList<>();
+        BigDecimal perPerson = BigDecimal.ZERO;
+        for (CartItem item : purchase.getCartItems()) {
+            Vacation vacation = vacations.get(item.getVacation().getId());
+            if (vacation == null) {
+                throw new IllegalArgumentException("Unknown vacation " + item.getVacation().getId());
+            }
+            BigDecimal excursionsPrice = BigDecimal.ZERO;
+            if (item.getExcursions() != null) {
+                for (Excursion requested : item.getExcursions()) {
+                    Excursion excursion = excursions.get(requested.getId());
+                    if (excursion == null || excursion.getVacation() == null
+                            || !vacation.getId().equals(excursion.getVacation().getId())) {
+                        throw new IllegalArgumentException("Excursion " + requested.getId()
+                                + " is not offered with vacation " + vacation.getId());
+                    }
+                    excursionsPrice = excursionsPrice.add(price(excursion.getExcursion_price()));
+                }
+            }
+            BigDecimal travelPrice = price(vacation.getTravel_price());
+            BigDecimal subtotal = travelPrice.add(excursionsPrice);
+            lines.add(new Quote.Line(vacation.getId(), travelPrice, excursionsPrice, subtotal));
+            perPerson = perPerson.add(subtotal);
+        }
+        BigDecimal packagePrice = perPerson.multiply(BigDecimal.valueOf(partySize)).setScale(2, RoundingMode.HALF_UP);
+        return new Quote(packagePrice, partySize, lines);
+    }
+
+    private static BigDecimal price(BigDecimal price) {
+        return price == null ? BigDecimal.ZERO : price;
+    }
+
+    private static <T> Map<Long, T> byId(List<T> items, Function<T, Long> idOf) {
+        Map<Long, T> map = new HashMap<>(items.size() * 2);
+        for (T item : items) {
+            map.put(idOf.apply(item), item);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,197 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.cache.LongKeyMap;
+import com.assessment.demo.dao.CountryRepository;
+import com.assessment.demo.dao.DivisionRepository;
+import com.assessment.demo.dto.TableVersion;
+import com.assessment.demo.entities.Country;
+import com.assessment.demo.entities.Division;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Countries and divisions, held in memory. Loaded with one query per table when the application
+ * is ready and replaced as a whole by {@link #reload()} (POST /api/admin/reference-data/reload),
+ * so readers always see one consistent snapshot. Lookups by id go through primitive long-keyed
+ * maps; each country's divisions are a pre-sorted array. The entities are shared: read them, do not modify them.
+ */
+@Component
+public class ReferenceDataRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataRegistry.class);
+
+    private static final Comparator<Division> BY_NAME = Comparator
+            .comparing(Division::getDivision_name, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(Division::getId);
+
+    private final CountryRepository countryRepository;
+    private final DivisionRepository divisionRepository;
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(List<Country> countries,
+                            List<Division> divisions,
+                            LongKeyMap<Country> countriesById,
+                            LongKeyMap<Division> divisionsById,
+                            LongKeyMap<Division[]> divisionsByCountry,
+                            TableVersion countriesVersion,
+                            TableVersion divisionsVersion) {
+    }
+
+    public ReferenceDataRegistry(CountryRepository countryRepository, DivisionRepository divisionRepository) {
+        this.countryRepository = countryRepository;
+        this.divisionRepository = divisionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    /**
+     * Reads both tables again and swaps the new snapshot in
+     *
+     * @return the version of countries and of divisions now served
+     */
+    public Map<String, TableVersion> reload() {
+        loadLock.lock();
+        try {
+            Snapshot loaded = read();
+            snapshot = loaded;
+            logger.info("Reference data loaded: {} countries, {} divisions",
+                    loaded.countries().size(), loaded.divisions().size());
+            return Map.of("countries", loaded.countriesVersion(), "divisions", loaded.divisionsVersion());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // ordered by id, as the repositories return pages
+    public List<Country> countries() {
+        return snapshot().countries();
+    }
+
+    public List<Division> divisions() {
+        return snapshot().divisions();
+    }
+
+    public Optional<Country> findCountry(long id) {
+        return Optional.ofNullable(snapshot().countriesById().get(id));
+    }
+
+    public Optional<Division> findDivision(long id) {
+        return Optional.ofNullable(snapshot().divisionsById().get(id));
+    }
+
+    /**
+     * @return the country's divisions ordered by name, empty when the country is unknown
+     */
+    public Optional<List<Division>> findDivisionsOfCountry(long countryId) {
+        Snapshot current = snapshot();
+        if (!current.countriesById().containsKey(countryId)) {
+            return Optional.empty();
+        }
+        Division[] divisions = current.divisionsByCountry().get(countryId);
+        return Optional.of(divisions == null ? List.of() : Collections.unmodifiableList(Arrays.asList(divisions)));
+    }
+
+    // keyset page: ids greater than after, at most limit
+    public List<Country> countriesAfter(long after, int limit) {
+        return pageAfter(countries(), Country::getId, after, limit);
+    }
+
+    public List<Division> divisionsAfter(long after, int limit) {
+        return pageAfter(divisions(), Division::getId, after, limit);
+    }
+
+    public TableVersion countriesVersion() {
+        return snapshot().countriesVersion();
+    }
+
+    public TableVersion divisionsVersion() {
+        return snapshot().divisionsVersion();
+    }
+
+    // first use before ApplicationReadyEvent (startup runners) loads on demand
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                if (snapshot == null) {
+                    snapshot = read();
+                }
+                current = snapshot;
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private Snapshot read() {
+        List<Country> countries = new ArrayList<>(countryRepository.findAll());
+        List<Division> divisions = new ArrayList<>(divisionRepository.findAll());
+        countries.sort(Comparator.comparing(Country::getId));
+        divisions.sort(Comparator.comparing(Division::getId));
+
+        Map<Long, List<Division>> byCountry = new HashMap<>();
+        for (Division division : divisions) {
+            byCountry.computeIfAbsent(division.getCountry_id(), key -> new ArrayList<>()).add(division);
+        }
+        List<Division[]> sortedByCountry = new ArrayList<>(byCountry.size());
+        for (List<Division> ofCountry : byCountry.values()) {
+            Division[] sorted = ofCountry.toArray(Division[]::new);
+            Arrays.sort(sorted, BY_NAME);
+            sortedByCountry.add(sorted);
+        }
+
+        return new Snapshot(List.copyOf(countries), List.copyOf(divisions),
+                LongKeyMap.of(countries, Country::getId),
+                LongKeyMap.of(divisions, Division::getId),
+                LongKeyMap.of(sortedByCountry, sorted -> sorted[0].getCountry_id()),
+                version(countries, Country::getLast_update),
+                version(divisions, Division::getLast_update));
+    }
+
+    private static <T> TableVersion version(List<T> rows, Function<T, Date> lastUpdateOf) {
+        Date newest = null;
+        for (T row : rows) {
+            Date lastUpdate = lastUpdateOf.apply(row);
+            if (lastUpdate != null && (newest == null || lastUpdate.after(newest))) {
+                newest = lastUpdate;
+            }
+        }
+        return new TableVersion((long) rows.size(), newest);
+    }
+
+    private static <T> List<T> pageAfter(List<T> byId, ToLongFunction<T> idOf, long after, int limit) {
+        int low = 0;
+        int high = byId.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (idOf.applyAsLong(byId.get(mid)) <= after) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return byId.subList(low, Math.min(byId.size(), low + limit));
+    }
+}
@@ -0,0 +1,185 @@
+package com.assessment.demo.services;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Sparse fieldsets (?fields=a,b) for the list endpoints: only the requested columns are selected and
+ * each row comes back as an ordered map, so neither the query nor the JSON carries the other fields.
+ * Field names are the entity JSON names; "vacation" / "division" select the whole embedded object and
+ * "vacation.vacation_title" a single field of it. The id is always included, it is the keyset cursor.
+ */
+@Service
+public class SparseFieldsets {
+
+    public enum Resource {
+        VACATIONS("Vacation v", "v", null, null,
+                "id", "v.id",
+                "vacation_title", "v.vacation_title",
+                "description", "v.description",
+                "travel_price", "v.travel_price",
+                "image_URL", "v.image_URL",
+                "create_date", "v.create_date",
+                "last_update", "v.last_update"),
+        EXCURSIONS("Excursion e", "e", "vacation", "left join e.vacation v",
+                "id", "e.id",
+                "excursion_title", "e.excursion_title",
+                "excursion_price", "e.excursion_price",
+                "image_URL", "e.image_URL",
+                "create_date", "e.create_date",
+                "last_update", "e.last_update",
+                "vacation.id", "v.id",
+                "vacation.vacation_title", "v.vacation_title",
+                "vacation.description", "v.description",
+                "vacation.travel_price", "v.travel_price",
+                "vacation.image_URL", "v.image_URL",
+                "vacation.create_date", "v.create_date",
+                "vacation.last_update", "v.last_update"),
+        // same key order as the Customer entity JSON (its @JsonProperty fields come last)
+        CUSTOMERS("Customer c", "c", "division", "left join c.division d",
+                "id", "c.id",
+                "address", "c.address",
+                "phone", "c.phone",
+                "create_date", "c.create_date",
+                "last_update", "c.last_update",
+                "division.id", "d.id",
+                "division.division_name", "d.division_name",
+                "division.create_date", "d.create_date",
+                "division.last_update", "d.last_update",
+                "division.country_id", "d.country_id",
+                "firstName", "c.firstName",
+                "lastName", "c.lastName",
+                "postal_code", "c.postal_code");
+
+        private final String from;
+        private final String alias;
+        private final String embedded;
+        private final String join;
+        private final Map<String, String> columns = new LinkedHashMap<>();
+
+        Resource(String from, String alias, String embedded, String join, String... fieldsAndPaths) {
+            this.from = from;
+            this.alias = alias;
+            this.embedded = embedded;
+            this.join = join;
+            for (int i = 0; i < fieldsAndPaths.length; i += 2) {
+                columns.put(fieldsAndPaths[i], fieldsAndPaths[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Validated field list of one resource, in the resource's column order
+     */
+    public record Selection(Resource resource, List<String> fields) {
+
+        // stable identifier of the field list, e.g. for validators
+        public String key() {
+            return String.join("+", fields);
+        }
+
+        private boolean joinsEmbedded() {
+            return resource.embedded != null && fields.stream().anyMatch(field -> field.startsWith(resource.embedded + "."));
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Resolves the requested field names; empty if one of them is not a field of the resource
+     */
+    public Optional<Selection> select(Resource resource, List<String> fields) {
+        Set<String> requested = new LinkedHashSet<>();
+        requested.add("id");
+        for (String field : fields) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (name.equals(resource.embedded)) {
+                resource.columns.keySet().stream().filter(column -> column.startsWith(name + ".")).forEach(requested::add);
+            } else if (resource.columns.containsKey(name)) {
+                requested.add(name);
+            } else {
+                return Optional.empty();
+            }
+        }
+        // the embedded id tells a missing embedded object (null) from one with null fields
+        if (resource.embedded != null && requested.stream().anyMatch(field -> field.startsWith(resource.embedded + "."))) {
+            requested.add(resource.embedded + ".id");
+        }
+        List<String> ordered = resource.columns.keySet().stream().filter(requested::contains).toList();
+        return Optional.of(new Selection(resource, ordered));
+    }
+
+    /**
+     * Rows with an id greater than {@code after} in id order, at most {@code limit} of them
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAfter(Selection selection, long after, int limit) {
+        return toRows(selection, query(selection, " where " + selection.resource().alias + ".id > :after")
+                .setParameter("after", after)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    /**
+     * All rows in id order
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAll(Selection selection) {
+        return toRows(selection, query(selection, "").getResultList());
+    }
+
+    private TypedQuery<Tuple> query(Selection selection, String where) {
+        Resource resource = selection.resource();
+        StringBuilder jpql = new StringBuilder("select ");
+        for (int i = 0; i < selection.fields().size(); i++) {
+            jpql.append(i == 0 ? "" : ", ").append(resource.columns.get(selection.fields().get(i)));
+        }
+        jpql.append(" from ").append(resource.from);
+        if (selection.joinsEmbedded()) {
+            jpql.append(' ').append(resource.join);
+        }
+        jpql.append(where).append(" order by ").append(resource.alias).append(".id");
+        return entityManager.createQuery(jpql.toString(), Tuple.class);
+    }
+
+    private static List<Map<String, Object>> toRows(Selection selection, List<Tuple> tuples) {
+        String embedded = selection.resource().embedded;
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            Map<String, Object> nested = null;
+            for (int i = 0; i < selection.fields().size(); i++) {
+                String field = selection.fields().get(i);
+                if (embedded == null || !field.startsWith(embedded + ".")) {
+                    row.put(field, tuple.get(i));
+                    continue;
+                }
+                if (field.equals(embedded + ".id")) {
+                    nested = tuple.get(i) == null ? null : new LinkedHashMap<>();
+                    row.put(embedded, nested);
+                }
+                if (nested != null) {
+                    nested.put(field.substring(embedded.length() + 1), tuple.get(i));
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,47 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.entities.OutboxEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes booking events to the SQS queue through the batching sender, waiting for each to be accepted.
+ * <p>
+ * Refuses to start when the relay is on but SQS is not configured: every event would otherwise fail until
+ * it is parked. Runs without AWS use the in-memory transport (--spring.profiles.active=local).
+ * <p>
+ * Do not combine it with aws.sqs.sender.overflow=spill: a spilled event counts as not sent, so the relay
+ * sends it again while the spill file still holds it, and SQS receives it twice. Block (the default) or drop
+ * leave the event in booking_outbox, which is already the durable buffer.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.transport", havingValue = "sqs", matchIfMissing = true)
+public class SqsBookingEventTransport implements BookingEventTransport {
+
+    private final SqsService sqsService;
+
+    public SqsBookingEventTransport(SqsService sqsService,
+                                    @Value("${outbox.relay.enabled:true}") boolean relayEnabled) {
+        if (relayEnabled && !sqsService.isConfigured()) {
+            throw new IllegalStateException("outbox.transport=sqs needs aws.sqs.enabled=true and aws.sqs.queue.url; "
+                    + "set outbox.transport=in-memory (or --spring.profiles.active=local) to run without SQS");
+        }
+        this.sqsService = sqsService;
+    }
+
+    @Override
+    public Set<Long> send(List<OutboxEvent> events) {
+        Map<String, String> messages = new LinkedHashMap<>();
+        events.forEach(event -> messages.put(String.valueOf(event.getId()), event.getPayload()));
+        return sqsService.sendBookingMessages(messages).stream()
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+    }
+}
@@ -1,91 +1,107 @@
 package com.assessment.demo.services;
 
+import com.assessment.demo.messaging.BatchingSqsSender;
+import com.assessment.demo.messaging.MessageSpilledException;
+import com.assessment.demo.messaging.SqsSenderStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
-import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for sending messages to AWS SQS queue
- * This is OPTIONAL - only works if AWS credentials are configured
+ * This is OPTIONAL - only works if AWS credentials are configured (aws.sqs.enabled, aws.sqs.queue.url)
+ * Messages go through the {@link BatchingSqsSender}: buffered, sent ten per call, retried on failure
  */
 @Service
 public class SqsService {
 
     private static final Logger logger = LoggerFactory.getLogger(SqsService.class);
 
-    @Value("${aws.sqs.queue.url:}")
-    private String queueUrl;
-
-    @Value("${aws.sqs.enabled:false}")
-    private boolean sqsEnabled;
+    private final BatchingSqsSender sender;
+    private final Duration sendTimeout;
 
-    private SqsClient sqsClient;
-
-    /**
-     * Initialize SQS client only if enabled and credentials exist
-     */
-    private SqsClient getSqsClient() {
-        if (sqsClient == null && sqsEnabled && queueUrl != null && !queueUrl.isEmpty()) {
-            try {
-                sqsClient = SqsClient.builder()
-                        .region(Region.US_EAST_1) // Change if your queue is in different region
-                        .credentialsProvider(DefaultCredentialsProvider.create())
-                        .build();
-                logger.info("SQS client initialized successfully for queue: {}", queueUrl);
-            } catch (Exception e) {
-                logger.warn("Failed to initialize SQS client (AWS credentials may not be configured): {}", e.getMessage());
-                sqsEnabled = false; // Disable SQS if initialization fails
-            }
-        }
-        return sqsClient;
+    public SqsService(ObjectProvider<BatchingSqsSender> sender,
+                      @Value("${aws.sqs.send-timeout:30s}") Duration sendTimeout) {
+        this.sender = sender.getIfAvailable();
+        this.sendTimeout = sendTimeout;
     }
 
     /**
-     * Send a booking message to SQS queue
+     * Send a booking message to SQS queue without waiting for it
      * Fails gracefully if SQS is not configured
      *
      * @param messageBody JSON string with booking data
      */
     public void sendBookingMessage(String messageBody) {
-        if (!sqsEnabled) {
+        if (sender == null) {
             logger.debug("SQS is disabled, skipping message send");
             return;
         }
+        sender.submit(messageBody).whenComplete((ignored, error) -> {
+            if (error instanceof MessageSpilledException) {
+                logger.debug("SQS message spilled to disk, it is sent later");
+            } else if (error != null) {
+                // Log error but don't break the application
+                logger.error("Failed to send message to SQS (non-critical error): {}", error.getMessage());
+            }
+        });
+    }
 
-        if (queueUrl == null || queueUrl.isEmpty()) {
-            logger.debug("SQS queue URL not configured, skipping message send");
-            return;
+    /**
+     * Send booking messages to SQS and wait until each was accepted or gave up
+     * Unlike sendBookingMessage this throws when SQS is not available, so the outbox keeps the events
+     *
+     * @param messages Message bodies by caller id
+     * @return Ids of the messages SQS accepted
+     */
+    public Set<String> sendBookingMessages(Map<String, String> messages) {
+        if (sender == null) {
+            throw new IllegalStateException("SQS is not configured");
         }
-
-        try {
-            SqsClient client = getSqsClient();
-            if (client == null) {
-                logger.debug("SQS client not available, skipping message send");
-                return;
+        Map<String, CompletableFuture<Void>> results = new LinkedHashMap<>();
+        messages.forEach((id, body) -> results.put(id, sender.submit(body)
+                .orTimeout(sendTimeout.toMillis(), TimeUnit.MILLISECONDS)));
+        Set<String> accepted = new HashSet<>();
+        results.forEach((id, result) -> {
+            try {
+                result.join();
+                accepted.add(id);
+            } catch (Exception e) {
+                logger.warn("Booking message {} was not sent: {}", id, e.getMessage());
             }
+        });
+        return accepted;
+    }
 
-            SendMessageRequest request = SendMessageRequest.builder()
-                    .queueUrl(queueUrl)
-                    .messageBody(messageBody)
-                    .build();
-
-            SendMessageResponse response = client.sendMessage(request);
-            logger.info("Successfully sent message to SQS. MessageId: {}", response.messageId());
+    /**
+     * @return Whether messages can be sent, i.e. aws.sqs.enabled is set and the sender was created
+     */
+    public boolean isConfigured() {
+        return sender != null;
+    }
 
-        } catch (Exception e) {
-            // Log error but don't break the application
-            logger.error("Failed to send message to SQS (non-critical error): {}", e.getMessage());
-        }
+    /**
+     * @return Buffer and send counters, empty when SQS is disabled
+     */
+    public Optional<SqsSenderStats> stats() {
+        return sender == null ? Optional.empty() : Optional.of(sender.stats());
     }
 
     /**
      * Format booking data as JSON string for SQS
+     * Version 1 of the booking message, no escaping; orders now use {@link BookingEventEncoder}
      *
      * @param orderTrackingNumber Unique order ID
      * @param customerName Customer full name
@@ -94,7 +110,7 @@ public class SqsService {
      * @return JSON formatted string
      */
     public String formatBookingMessage(String orderTrackingNumber, String customerName, 
-                                      String vacationTitle, Double totalPrice) {
+                                      String vacationTitle, BigDecimal totalPrice) {
         return String.format("""
                 {
                     "orderTrackingNumber": "%s",
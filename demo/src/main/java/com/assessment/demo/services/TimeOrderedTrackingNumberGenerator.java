@@ -0,0 +1,91 @@
+package com.assessment.demo.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * ULID-style tracking numbers: 48 bits of Unix milliseconds followed by 80 bits from {@link SecureRandom},
+ * written as 26 Crockford base32 characters.
+ * <p>
+ * The fixed-width encoding sorts by issue millisecond, so new rows land near the right edge of the
+ * order_tracking_number index. The random part is drawn fresh for every number (no monotonic increment
+ * within a millisecond), because the tracking number is what authorizes reading an order: knowing one
+ * number must not help guess another. Nodes never coordinate; 80 random bits per millisecond make a
+ * collision practically impossible, and the unique index rejects one that still happens.
+ */
+@Component
+@ConditionalOnProperty(name = "checkout.tracking.generator", havingValue = "time-ordered", matchIfMissing = true)
+public class TimeOrderedTrackingNumberGenerator implements TrackingNumberGenerator {
+
+    static final int ENCODED_LENGTH = 26;
+    static final int TIMESTAMP_LENGTH = 10;
+    static final long MAX_TIMESTAMP = (1L << 48) - 1;
+
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] CROCKFORD_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(CROCKFORD_VALUES, (byte) -1);
+        for (int i = 0; i < CROCKFORD.length; i++) {
+            CROCKFORD_VALUES[CROCKFORD[i]] = (byte) i;
+        }
+    }
+
+    private final LongSupplier clock;
+    private final RandomGenerator random;
+
+    @Autowired
+    public TimeOrderedTrackingNumberGenerator() {
+        this(System::currentTimeMillis, new SecureRandom());
+    }
+
+    TimeOrderedTrackingNumberGenerator(LongSupplier clock, RandomGenerator random) {
+        this.clock = clock;
+        this.random = random;
+    }
+
+    @Override
+    public String next() {
+        char[] chars = new char[ENCODED_LENGTH];
+        encode(clock.getAsLong() & MAX_TIMESTAMP, chars, 0, TIMESTAMP_LENGTH);
+        // 80 random bits in 16 characters: 60 from one long draw, 20 from one int draw
+        encode(random.nextLong() >>> 4, chars, TIMESTAMP_LENGTH, 12);
+        encode(random.nextInt() & 0xFFFFF, chars, TIMESTAMP_LENGTH + 12, 4);
+        return new String(chars);
+    }
+
+    /**
+     * Milliseconds a number was issued at, or -1 when it is not a well-formed number of this generator
+     */
+    static long timestampOf(String number) {
+        if (number == null || number.length() != ENCODED_LENGTH) {
+            return -1;
+        }
+        long timestamp = 0;
+        for (int i = 0; i < ENCODED_LENGTH; i++) {
+            char c = number.charAt(i);
+            int value = c < CROCKFORD_VALUES.length ? CROCKFORD_VALUES[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            if (i < TIMESTAMP_LENGTH) {
+                timestamp = timestamp << 5 | value;
+            }
+        }
+        // 10 characters carry 50 bits, the top two are always zero
+        return timestamp > MAX_TIMESTAMP ? -1 : timestamp;
+    }
+
+    private static void encode(long value, char[] chars, int offset, int length) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            chars[i] = CROCKFORD[(int) (value & 31)];
+            value >>>= 5;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.assessment.demo.services;
+
+/**
+ * Source of the order tracking numbers handed to customers. Selected with
+ * {@code checkout.tracking.generator} ({@code time-ordered} or {@code uuid}).
+ */
+public interface TrackingNumberGenerator {
+
+    String next();
+}
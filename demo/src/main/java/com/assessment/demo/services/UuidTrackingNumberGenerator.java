@@ -0,0 +1,19 @@
+package com.assessment.demo.services;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Random 36 character UUID (version 4) tracking numbers, as issued before the time-ordered generator.
+ */
+@Component
+@ConditionalOnProperty(name = "checkout.tracking.generator", havingValue = "uuid")
+public class UuidTrackingNumberGenerator implements TrackingNumberGenerator {
+
+    @Override
+    public String next() {
+        return UUID.randomUUID().toString();
+    }
+}
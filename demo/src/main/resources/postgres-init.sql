@@ -3,6 +3,8 @@
 BEGIN;
 
 -- Drop tables in reverse dependency order
+DROP TABLE IF EXISTS booking_outbox CASCADE;
+DROP TABLE IF EXISTS idempotency_keys CASCADE;
 DROP TABLE IF EXISTS excursion_cartitem CASCADE;
 DROP TABLE IF EXISTS cart_items CASCADE;
 DROP TABLE IF EXISTS carts CASCADE;
@@ -47,6 +49,9 @@ CREATE TABLE excursions (
     vacation_id BIGINT NOT NULL REFERENCES vacations(vacation_id) ON DELETE CASCADE
 );
 
+-- Excursions are always listed per vacation
+CREATE INDEX idx_excursions_vacation_id ON excursions(vacation_id);
+
 CREATE TABLE customers (
     customer_id BIGSERIAL PRIMARY KEY,
     address VARCHAR(255),
@@ -70,6 +75,9 @@ CREATE TABLE carts (
     customer_id BIGINT NOT NULL REFERENCES customers(customer_id) ON DELETE CASCADE
 );
 
+-- Orders are looked up by the tracking number handed to the customer; NULL for open carts
+CREATE UNIQUE INDEX idx_carts_order_tracking_number ON carts(order_tracking_number);
+
 CREATE TABLE cart_items (
     cart_item_id BIGSERIAL PRIMARY KEY,
     create_date TIMESTAMP(6),
@@ -84,6 +92,32 @@ CREATE TABLE excursion_cartitem (
     PRIMARY KEY (cart_item_id, excursion_id)
 );
 
+-- Checkout requests already answered, by client Idempotency-Key; a key is inserted before its checkout runs and
+-- gets the tracking number in the same transaction
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    order_tracking_number VARCHAR(255),
+    create_date TIMESTAMP(6)
+);
+
+CREATE INDEX idx_idempotency_keys_create_date ON idempotency_keys(create_date);
+
+-- Booking events written with the order, published by the outbox relay
+CREATE TABLE booking_outbox (
+    outbox_id BIGSERIAL PRIMARY KEY,
+    order_tracking_number VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    create_date TIMESTAMP(6),
+    delivered_date TIMESTAMP(6),
+    next_attempt_date TIMESTAMP(6),
+    parked_date TIMESTAMP(6)
+);
+
+-- Events the relay gave up on keep parked_date set and drop out of the pending index
+CREATE INDEX idx_booking_outbox_pending ON booking_outbox(outbox_id) WHERE delivered_date IS NULL AND parked_date IS NULL;
+CREATE INDEX idx_booking_outbox_delivered_date ON booking_outbox(delivered_date);
+
 -- Seed base lookup tables
 INSERT INTO countries(country_id, country, create_date, last_update) VALUES
  (1,'U.S', NOW(), NOW()),
@@ -211,4 +245,13 @@ SELECT setval(pg_get_serial_sequence('carts','cart_id'), (SELECT MAX(cart_id) FR
 SELECT setval(pg_get_serial_sequence('vacations','vacation_id'), (SELECT MAX(vacation_id) FROM vacations));
 SELECT setval(pg_get_serial_sequence('excursions','excursion_id'), (SELECT MAX(excursion_id) FROM excursions));
 
+-- Vacations, excursions, carts, cart items and outbox events use pooled sequence ids: Hibernate reserves 50 ids per nextval,
+-- so inserting many rows needs no round trip per id and the inserts can go out as JDBC batches. INCREMENT BY must equal
+-- allocationSize of the entity's @SequenceGenerator, otherwise Hibernate hands out ids the sequence hands out again.
+ALTER SEQUENCE vacations_vacation_id_seq INCREMENT BY 50;
+ALTER SEQUENCE excursions_excursion_id_seq INCREMENT BY 50;
+ALTER SEQUENCE carts_cart_id_seq INCREMENT BY 50;
+ALTER SEQUENCE cart_items_cart_item_id_seq INCREMENT BY 50;
+ALTER SEQUENCE booking_outbox_outbox_id_seq INCREMENT BY 50;
+
 COMMIT;
\ No newline at end of file
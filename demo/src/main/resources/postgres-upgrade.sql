@@ -0,0 +1,54 @@
+-- Non-destructive upgrade of a database created by an earlier postgres-init.sql.
+-- Safe to run more than once; run it before deploying a backend that uses pooled sequence ids.
+
+BEGIN;
+
+-- Excursions are always listed per vacation
+CREATE INDEX IF NOT EXISTS idx_excursions_vacation_id ON excursions(vacation_id);
+
+-- Orders are looked up by the tracking number handed to the customer; NULL for open carts
+CREATE UNIQUE INDEX IF NOT EXISTS idx_carts_order_tracking_number ON carts(order_tracking_number);
+
+-- Checkout requests already answered, by client Idempotency-Key; a key is inserted before its checkout runs and
+-- gets the tracking number in the same transaction
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    order_tracking_number VARCHAR(255),
+    create_date TIMESTAMP(6)
+);
+
+ALTER TABLE idempotency_keys ALTER COLUMN order_tracking_number DROP NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_create_date ON idempotency_keys(create_date);
+
+-- Booking events written with the order, published by the outbox relay
+CREATE TABLE IF NOT EXISTS booking_outbox (
+    outbox_id BIGSERIAL PRIMARY KEY,
+    order_tracking_number VARCHAR(255) NOT NULL,
+    payload TEXT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    create_date TIMESTAMP(6),
+    delivered_date TIMESTAMP(6),
+    next_attempt_date TIMESTAMP(6),
+    parked_date TIMESTAMP(6)
+);
+
+ALTER TABLE booking_outbox ADD COLUMN IF NOT EXISTS next_attempt_date TIMESTAMP(6);
+ALTER TABLE booking_outbox ADD COLUMN IF NOT EXISTS parked_date TIMESTAMP(6);
+
+-- Events the relay gave up on keep parked_date set and drop out of the pending index
+DROP INDEX IF EXISTS idx_booking_outbox_pending;
+CREATE INDEX idx_booking_outbox_pending ON booking_outbox(outbox_id) WHERE delivered_date IS NULL AND parked_date IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_booking_outbox_delivered_date ON booking_outbox(delivered_date);
+
+-- Vacations, excursions, carts, cart items and outbox events use pooled sequence ids: Hibernate reserves 50 ids
+-- per nextval and hands out the 50 ids below the returned value, so existing rows keep their ids and no id is reused
+-- (why and what must stay in step: see postgres-init.sql)
+ALTER SEQUENCE vacations_vacation_id_seq INCREMENT BY 50;
+ALTER SEQUENCE excursions_excursion_id_seq INCREMENT BY 50;
+ALTER SEQUENCE carts_cart_id_seq INCREMENT BY 50;
+ALTER SEQUENCE cart_items_cart_item_id_seq INCREMENT BY 50;
+ALTER SEQUENCE booking_outbox_outbox_id_seq INCREMENT BY 50;
+
+COMMIT;
@@ -0,0 +1,59 @@
+package com.assessment.demo;
+
+import com.assessment.demo.dto.SeedCounts;
+import com.assessment.demo.services.CatalogChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BootstrapTests {
+
+	private final EntityManager entityManager = mock(EntityManager.class);
+	private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+	private final Bootstrap bootstrap = new Bootstrap(mock(PlatformTransactionManager.class), ApplicationStartup.DEFAULT,
+			eventPublisher);
+
+	BootstrapTests() {
+		ReflectionTestUtils.setField(bootstrap, "entityManager", entityManager);
+	}
+
+	@Test
+	void seedingVacationsInvalidatesTheCatalog() throws Exception {
+		counts(new SeedCounts(3L, 11L, 6L, 0L, 0L));
+
+		bootstrap.run();
+
+		verify(entityManager, times(20)).persist(any());
+		verify(eventPublisher).publishEvent(CatalogChangedEvent.vacation(null));
+	}
+
+	@Test
+	void populatedCatalogPublishesNothing() throws Exception {
+		counts(new SeedCounts(3L, 11L, 6L, 5L, 15L));
+
+		bootstrap.run();
+
+		verify(entityManager, never()).persist(any());
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void counts(SeedCounts counts) {
+		TypedQuery<SeedCounts> query = mock(TypedQuery.class);
+		when(entityManager.createQuery(anyString(), eq(SeedCounts.class))).thenReturn(query);
+		when(query.getSingleResult()).thenReturn(counts);
+	}
+}
@@ -0,0 +1,116 @@
+package com.assessment.demo.benchmark;
+
+import com.assessment.demo.dto.Purchase;
+import com.assessment.demo.entities.Cart;
+import com.assessment.demo.entities.CartItem;
+import com.assessment.demo.entities.Customer;
+import com.assessment.demo.entities.Excursion;
+import com.assessment.demo.entities.Vacation;
+import com.assessment.demo.messaging.BatchingSqsSender;
+import com.assessment.demo.services.BookingEventEncoder;
+import com.assessment.demo.services.SqsService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking message encoding: the version 1 String.format path (four fields) vs the streaming encoder
+ * writing the whole order (two vacations, three excursions each) as JSON and as binary.
+ * Add {@code -prof gc} to compare allocation per message. Run from the demo directory after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.assessment.demo.benchmark.BookingEventBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingEventBenchmark {
+
+    // no sender: formatBookingMessage only formats
+    private final SqsService sqsService = new SqsService(
+            new StaticListableBeanFactory().getBeanProvider(BatchingSqsSender.class), Duration.ofSeconds(30));
+    private final List<Vacation> vacations = new ArrayList<>();
+    private final List<Excursion> excursions = new ArrayList<>();
+    private BookingEventEncoder json;
+    private BookingEventEncoder binary;
+    private Purchase purchase;
+
+    @Setup
+    public void setUp() {
+        Set<CartItem> items = new HashSet<>();
+        for (long v = 1; v <= 2; v++) {
+            Vacation vacation = new Vacation();
+            vacation.setId(v);
+            vacation.setVacation_title("Vacation " + v);
+            vacation.setTravel_price(new BigDecimal("1000.00"));
+            vacations.add(vacation);
+            Set<Excursion> chosen = new HashSet<>();
+            for (long e = 1; e <= 3; e++) {
+                Excursion excursion = new Excursion();
+                excursion.setId(v * 10 + e);
+                excursion.setExcursion_title("Excursion " + e + " of vacation " + v);
+                excursion.setExcursion_price(new BigDecimal("75.00"));
+                excursion.setVacation(vacation);
+                excursions.add(excursion);
+                chosen.add(excursion);
+            }
+            CartItem item = new CartItem();
+            item.setId(v);
+            item.setVacation(vacation);
+            item.setExcursions(chosen);
+            items.add(item);
+        }
+        Customer customer = new Customer();
+        customer.setId(1L);
+        customer.setFirstName("John");
+        customer.setLastName("Doe");
+        Cart cart = new Cart();
+        cart.setParty_size(2);
+        cart.setPackage_price(new BigDecimal("4900.00"));
+        purchase = new Purchase();
+        purchase.setCustomer(customer);
+        purchase.setCart(cart);
+        purchase.setCartItems(items);
+
+        json = new BookingEventEncoder(BookingEventEncoder.Encoding.JSON, ids -> vacations, ids -> excursions, Clock.systemUTC());
+        binary = new BookingEventEncoder(BookingEventEncoder.Encoding.BINARY, ids -> vacations, ids -> excursions, Clock.systemUTC());
+    }
+
+    @Benchmark
+    public String stringFormatV1() {
+        return sqsService.formatBookingMessage("0J8ZK3B2Q4X7M", "John Doe", "Vacation Package",
+                purchase.getCart().getPackage_price());
+    }
+
+    @Benchmark
+    public String encoderJson() {
+        return json.encode("0J8ZK3B2Q4X7M", purchase);
+    }
+
+    @Benchmark
+    public String encoderBinary() {
+        return binary.encode("0J8ZK3B2Q4X7M", purchase);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(BookingEventBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
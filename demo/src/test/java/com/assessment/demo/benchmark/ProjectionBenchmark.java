@@ -0,0 +1,189 @@
+package com.assessment.demo.benchmark;
+
+import com.assessment.demo.DemoApplication;
+import com.assessment.demo.dao.CustomerRepository;
+import com.assessment.demo.dao.ExcursionRepository;
+import com.assessment.demo.dao.VacationRepository;
+import com.assessment.demo.entities.Customer;
+import com.assessment.demo.entities.Division;
+import com.assessment.demo.entities.Excursion;
+import com.assessment.demo.entities.Vacation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One keyset page of 100 vacations, excursions and customers read as entities (the list endpoints
+ * before) vs as projection rows (now), including JSON serialization with the application's ObjectMapper.
+ * Runs against an in-memory H2 database; setup checks both paths produce identical JSON and prints
+ * statements, rows and bytes per page. Run with {@code -prof gc} for allocation per request.
+ * Run from the demo directory after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.assessment.demo.benchmark.ProjectionBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    private static final int VACATIONS = 1000;
+    private static final int EXCURSIONS_PER_VACATION = 5;
+    private static final int CUSTOMERS = 1000;
+    private static final Limit PAGE = Limit.of(100);
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+    private ObjectMapper objectMapper;
+    private VacationRepository vacationRepository;
+    private ExcursionRepository excursionRepository;
+    private CustomerRepository customerRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = SpringApplication.run(DemoApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:projection;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--outbox.relay.enabled=false",
+                "--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN");
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        objectMapper = context.getBean(ObjectMapper.class);
+        vacationRepository = context.getBean(VacationRepository.class);
+        excursionRepository = context.getBean(ExcursionRepository.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+
+        transactionTemplate.executeWithoutResult(status -> populate());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        report("vacations", statistics, this::vacationEntities, this::vacationRows);
+        report("excursions", statistics, this::excursionEntities, this::excursionRows);
+        report("customers", statistics, this::customerEntities, this::customerRows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] vacationEntities() throws Exception {
+        List<Vacation> page = readOnly.execute(status -> entityManager
+                .createQuery("select v from Vacation v where v.id > 0 order by v.id", Vacation.class)
+                .setMaxResults(PAGE.max()).getResultList());
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] vacationRows() throws Exception {
+        return objectMapper.writeValueAsBytes(vacationRepository.findRowsAfter(0L, PAGE));
+    }
+
+    @Benchmark
+    public byte[] excursionEntities() throws Exception {
+        List<Excursion> page = readOnly.execute(status -> entityManager
+                .createQuery("select e from Excursion e where e.id > 0 order by e.id", Excursion.class)
+                .setMaxResults(PAGE.max()).getResultList());
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] excursionRows() throws Exception {
+        return objectMapper.writeValueAsBytes(excursionRepository.findRowsAfter(0L, PAGE));
+    }
+
+    @Benchmark
+    public byte[] customerEntities() throws Exception {
+        List<Customer> page = readOnly.execute(status -> entityManager
+                .createQuery("select c from Customer c where c.id > 0 order by c.id", Customer.class)
+                .setMaxResults(PAGE.max()).getResultList());
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] customerRows() throws Exception {
+        return objectMapper.writeValueAsBytes(customerRepository.findRowsAfter(0L, PAGE));
+    }
+
+    private void populate() {
+        List<Division> divisions = entityManager.createQuery("select d from Division d", Division.class).getResultList();
+        for (int i = 0; i < VACATIONS; i++) {
+            Vacation vacation = new Vacation();
+            vacation.setVacation_title("Vacation " + i);
+            vacation.setDescription("A description of vacation " + i + " long enough to matter in the payload");
+            vacation.setTravel_price(BigDecimal.valueOf(500 + i));
+            vacation.setImage_URL("https://images.example.com/vacations/" + i + ".jpg");
+            entityManager.persist(vacation);
+            for (int j = 0; j < EXCURSIONS_PER_VACATION; j++) {
+                Excursion excursion = new Excursion();
+                excursion.setExcursion_title("Excursion " + i + "-" + j);
+                excursion.setExcursion_price(BigDecimal.valueOf(20 + j));
+                excursion.setImage_URL("https://images.example.com/excursions/" + i + "-" + j + ".jpg");
+                excursion.setVacation(vacation);
+                entityManager.persist(excursion);
+            }
+        }
+        for (int i = 0; i < CUSTOMERS; i++) {
+            entityManager.persist(new Customer(null, "First" + i, "Last" + i, i + " Main St", "12345", "(123)456-7890",
+                    null, null, divisions.get(i % divisions.size())));
+        }
+    }
+
+    private static void report(String name, Statistics statistics, ThrowingSupplier before, ThrowingSupplier after) throws Exception {
+        statistics.clear();
+        byte[] entities = before.get();
+        long entityStatements = statistics.getPrepareStatementCount();
+        long entityLoads = statistics.getEntityLoadCount();
+        statistics.clear();
+        byte[] rows = after.get();
+        long rowStatements = statistics.getPrepareStatementCount();
+        if (!Arrays.equals(entities, rows)) {
+            throw new IllegalStateException(name + ": projection JSON differs from entity JSON\n"
+                    + new String(entities) + "\n" + new String(rows));
+        }
+        System.out.printf("%s page: entities %d statements, %d entities loaded; rows %d statements, 0 entities; %d bytes both%n",
+                name, entityStatements, entityLoads, rowStatements, rows.length);
+    }
+
+    @FunctionalInterface
+    private interface ThrowingSupplier {
+        byte[] get() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(ProjectionBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
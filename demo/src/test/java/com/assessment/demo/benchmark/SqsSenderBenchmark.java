@@ -0,0 +1,88 @@
+package com.assessment.demo.benchmark;
+
+import com.assessment.demo.config.SqsSenderProperties;
+import com.assessment.demo.messaging.BatchingSqsSender;
+import com.assessment.demo.messaging.FakeSqsTransport;
+import com.assessment.demo.messaging.OverflowPolicy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to publish 100 booking messages against a fake queue that answers each call after 5 ms:
+ * one blocking SendMessage per message (the previous SqsService) vs the batching sender.
+ * Run from the demo directory after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.assessment.demo.benchmark.SqsSenderBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SqsSenderBenchmark {
+
+    private static final int MESSAGES = 100;
+    private static final long LATENCY_MILLIS = 5;
+
+    private final String message = """
+            {
+                "orderTrackingNumber": "0J8ZK3B2Q4X7M",
+                "customerName": "John Doe",
+                "vacationTitle": "Vacation Package",
+                "totalPrice": 1299.00,
+                "timestamp": "2024-05-01T12:00:00Z"
+            }
+            """;
+
+    private FakeSqsTransport transport;
+    private BatchingSqsSender sender;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transport = new FakeSqsTransport(LATENCY_MILLIS);
+        sender = new BatchingSqsSender(transport, new SqsSenderProperties(10_000, 10, Duration.ofMillis(2),
+                OverflowPolicy.BLOCK, Duration.ofSeconds(1), Path.of("sqs-spill.log"), 5,
+                Duration.ofMillis(100), Duration.ofSeconds(5), 16));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sender.close();
+    }
+
+    @Benchmark
+    public int blockingOnePerCall() {
+        for (int i = 0; i < MESSAGES; i++) {
+            transport.send(Map.of("1", message)).join();
+        }
+        return MESSAGES;
+    }
+
+    @Benchmark
+    public int batched() {
+        CompletableFuture<?>[] results = new CompletableFuture<?>[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            results[i] = sender.submit(message);
+        }
+        CompletableFuture.allOf(results).join();
+        return MESSAGES;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(SqsSenderBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
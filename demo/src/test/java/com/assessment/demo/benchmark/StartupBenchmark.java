@@ -0,0 +1,70 @@
+package com.assessment.demo.benchmark;
+
+import com.assessment.demo.DemoApplication;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first request: a cold JVM starts the application against an in-memory H2 database and
+ * serves GET /api/vacations once. Each measurement runs in its own fork so class loading, JIT and
+ * the Spring context are cold every time. {@code seed} switches the Bootstrap data seeding
+ * ({@code app.seed.enabled}); with {@code seed=false} the catalog is empty, as a database seeded by
+ * postgres-init.sql would be ready without the runner. To compare class data sharing, create an
+ * archive once with {@code -XX:ArchiveClassesAtExit=app.jsa} and rerun with
+ * {@code -jvmArgsAppend -XX:SharedArchiveFile=app.jsa}. Run from the demo directory after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.assessment.demo.benchmark.StartupBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+    @Param({"true", "false"})
+    public boolean seed;
+
+    @Benchmark
+    public int firstRequest() throws Exception {
+        try (ConfigurableApplicationContext context = SpringApplication.run(DemoApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--outbox.relay.enabled=false",
+                "--app.seed.enabled=" + seed)) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/vacations")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET /api/vacations answered " + response.statusCode());
+            }
+            return response.body().length();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(StartupBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
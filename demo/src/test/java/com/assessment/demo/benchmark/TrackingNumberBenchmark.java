@@ -0,0 +1,51 @@
+package com.assessment.demo.benchmark;
+
+import com.assessment.demo.services.TimeOrderedTrackingNumberGenerator;
+import com.assessment.demo.services.TrackingNumberGenerator;
+import com.assessment.demo.services.UuidTrackingNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracking number throughput, UUID v4 vs time-ordered, at 1, 4 and 16 threads.
+ * Run from the demo directory after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.assessment.demo.benchmark.TrackingNumberBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrackingNumberBenchmark {
+
+    private final TrackingNumberGenerator uuid = new UuidTrackingNumberGenerator();
+    private final TrackingNumberGenerator timeOrdered = new TimeOrderedTrackingNumberGenerator();
+
+    @Benchmark
+    public String uuid() {
+        return uuid.next();
+    }
+
+    @Benchmark
+    public String timeOrdered() {
+        return timeOrdered.next();
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int threads : new int[]{1, 4, 16}) {
+            Options options = new OptionsBuilder()
+                    .include(TrackingNumberBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
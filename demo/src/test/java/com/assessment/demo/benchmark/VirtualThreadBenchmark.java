@@ -0,0 +1,102 @@
+package com.assessment.demo.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Time to serve a burst of {@code concurrency} simultaneous requests on the platform thread pool
+ * (Tomcat's default 200 threads) vs one virtual thread per request, with and without the
+ * connection-pool-aware limit of {@code ConcurrencyLimitFilter}.
+ * A request blocks 50 ms on remote I/O (SQS, payment or partner APIs), then holds one of
+ * 10 pooled connections for 1 ms. Run from the demo directory after {@code mvn test-compile}:
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.assessment.demo.benchmark.VirtualThreadBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    private static final int TOMCAT_THREADS = 200;
+    private static final int POOL_SIZE = 10;
+    private static final int REQUESTS_PER_CONNECTION = 50;
+    private static final long REMOTE_IO_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long QUERY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Param({"100", "1000", "5000"})
+    public int concurrency;
+
+    @Param({"platform", "virtual", "virtual-limited"})
+    public String mode;
+
+    private ExecutorService executor;
+    private Semaphore connections;
+    private Semaphore limit;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "platform".equals(mode)
+                ? Executors.newFixedThreadPool(TOMCAT_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+        connections = new Semaphore(POOL_SIZE, true);
+        limit = "virtual-limited".equals(mode) ? new Semaphore(POOL_SIZE * REQUESTS_PER_CONNECTION, true) : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // one op = a burst of concurrent requests, all served
+    @Benchmark
+    public int burst() throws Exception {
+        Future<?>[] requests = new Future<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            requests[i] = executor.submit(this::request);
+        }
+        for (Future<?> request : requests) {
+            request.get();
+        }
+        return requests.length;
+    }
+
+    private void request() {
+        if (limit != null) {
+            limit.acquireUninterruptibly();
+        }
+        try {
+            LockSupport.parkNanos(REMOTE_IO_NANOS);
+            connections.acquireUninterruptibly();
+            try {
+                LockSupport.parkNanos(QUERY_NANOS);
+            } finally {
+                connections.release();
+            }
+        } finally {
+            if (limit != null) {
+                limit.release();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(VirtualThreadBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
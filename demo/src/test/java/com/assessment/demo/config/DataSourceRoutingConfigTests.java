@@ -0,0 +1,59 @@
+package com.assessment.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataSourceRoutingConfigTests {
+
+	@Test
+	void primaryPoolTakesTheHikariSettings() {
+		new ApplicationContextRunner()
+				.withUserConfiguration(DataSourcePropertiesConfig.class, DataSourceRoutingConfig.class)
+				.withPropertyValues(
+						"app.datasource.routing.enabled=true",
+						"app.datasource.routing.health-check-interval=0s",
+						"spring.datasource.url=jdbc:h2:mem:routing-primary",
+						"spring.datasource.hikari.maximum-pool-size=7",
+						"spring.datasource.hikari.connection-timeout=1500")
+				.run(context -> {
+					HikariDataSource primary = context.getBean("primaryDataSource", HikariDataSource.class);
+					assertThat(primary.getPoolName()).isEqualTo("primary");
+					assertThat(primary.getMaximumPoolSize()).isEqualTo(7);
+					assertThat(primary.getConnectionTimeout()).isEqualTo(1500);
+				});
+	}
+
+	@Test
+	void replicaPoolTakesTheHikariSettings() {
+		Binder binder = new Binder(new MapConfigurationPropertySource(Map.of(
+				"spring.datasource.hikari.maximum-pool-size", "7",
+				"spring.datasource.hikari.read-only", "false")));
+		DataSourceProperties primaryProperties = new DataSourceProperties();
+		primaryProperties.setUsername("app");
+		primaryProperties.setPassword("secret");
+
+		try (HikariDataSource replica = DataSourceRoutingConfig.replicaDataSource(
+				new RoutingDataSourceProperties.Replica("jdbc:h2:mem:routing-replica", null, null), 0,
+				primaryProperties, binder)) {
+			assertThat(replica.getMaximumPoolSize()).isEqualTo(7);
+			assertThat(replica.getPoolName()).isEqualTo("replica-0");
+			assertThat(replica.getUsername()).isEqualTo("app");
+			assertThat(replica.isReadOnly()).isTrue();
+		}
+	}
+
+	@Configuration
+	@EnableConfigurationProperties(DataSourceProperties.class)
+	static class DataSourcePropertiesConfig {
+	}
+}
@@ -0,0 +1,157 @@
+package com.assessment.demo.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// in-memory H2 databases stand in for the primary and its replicas
+class ReadWriteRoutingDataSourceTests {
+
+	private ReadWriteRoutingDataSource routing;
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void tearDown() {
+		routing.close();
+	}
+
+	@Test
+	void writeTransactionsUsePrimary() {
+		TransactionTemplate transactions = transactions(List.of(database("replica1")));
+
+		assertThat(servedBy(transactions)).isEqualTo("primary");
+	}
+
+	@Test
+	void readOnlyTransactionsRoundRobinOverReplicas() {
+		TransactionTemplate transactions = transactions(List.of(database("replica1"), database("replica2")));
+		transactions.setReadOnly(true);
+
+		List<String> served = List.of(
+				servedBy(transactions),
+				servedBy(transactions),
+				servedBy(transactions));
+
+		assertThat(served).containsExactly("replica1", "replica2", "replica1");
+	}
+
+	@Test
+	void unreachableReplicaFallsBackToPrimary() {
+		JdbcDataSource missing = new JdbcDataSource();
+		missing.setURL("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+		TransactionTemplate transactions = transactions(List.of(missing));
+		transactions.setReadOnly(true);
+
+		assertThat(servedBy(transactions)).isEqualTo("primary");
+		assertThat(routing.healthyReplicas()).isZero();
+	}
+
+	@Test
+	void connectionsWithExplicitCredentialsAreRoutedToo() throws Exception {
+		transactions(List.of(database("replica1")));
+
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		try (Connection connection = routing.getConnection("", "")) {
+			assertThat(nodeName(connection)).isEqualTo("replica1");
+		} finally {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		}
+		try (Connection connection = routing.getConnection("", "")) {
+			assertThat(nodeName(connection)).isEqualTo("primary");
+		}
+	}
+
+	// open-in-view binds one EntityManager to the request; its write after a read-only lookup must reach the primary
+	@Test
+	void writeAfterReadOnlyTransactionOnOneEntityManagerUsesPrimary() {
+		transactions(List.of(database("replica1")));
+		EntityManagerFactory entityManagerFactory = entityManagerFactory();
+		EntityManager entityManager = entityManagerFactory.createEntityManager();
+		TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+		try {
+			JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+			TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+			readOnly.setReadOnly(true);
+			TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+			String read = readOnly.execute(status -> nodeName(entityManager));
+			String written = readWrite.execute(status -> {
+				entityManager.createNativeQuery("update node set name = name").executeUpdate();
+				return nodeName(entityManager);
+			});
+
+			assertThat(read).isEqualTo("replica1");
+			assertThat(written).isEqualTo("primary");
+		} finally {
+			TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+			entityManager.close();
+			entityManagerFactory.close();
+		}
+	}
+
+	private EntityManagerFactory entityManagerFactory() {
+		Map<String, Object> properties = new HashMap<>();
+		new DataSourceRoutingConfig().releaseConnectionAfterTransaction().customize(properties);
+		LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+		factory.setDataSource(jdbcTemplate.getDataSource());
+		factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+		factory.setPackagesToScan(DataSourceRoutingConfig.class.getPackageName());
+		factory.setJpaPropertyMap(properties);
+		factory.afterPropertiesSet();
+		return factory.getObject();
+	}
+
+	private static String nodeName(EntityManager entityManager) {
+		return (String) entityManager.createNativeQuery("select name from node").getSingleResult();
+	}
+
+	private static String nodeName(Connection connection) throws SQLException {
+		try (ResultSet rows = connection.createStatement().executeQuery("select name from node")) {
+			rows.next();
+			return rows.getString(1);
+		}
+	}
+
+	private TransactionTemplate transactions(List<DataSource> replicas) {
+		routing = new ReadWriteRoutingDataSource(database("primary"), replicas, Duration.ZERO, Duration.ofSeconds(1));
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+	}
+
+	private String servedBy(TransactionTemplate transactions) {
+		return transactions.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+	}
+
+	private static DataSource database(String name) {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("create table if not exists node (name varchar(32))");
+		jdbc.update("delete from node");
+		jdbc.update("insert into node (name) values (?)", name);
+		return dataSource;
+	}
+}
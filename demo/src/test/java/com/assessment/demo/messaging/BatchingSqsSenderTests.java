@@ -0,0 +1,138 @@
+package com.assessment.demo.messaging;
+
+import com.assessment.demo.config.SqsSenderProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchingSqsSenderTests {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void sendsFullBatchesOfTen() {
+		FakeSqsTransport transport = new FakeSqsTransport(0);
+		try (BatchingSqsSender sender = new BatchingSqsSender(transport, properties(1000, OverflowPolicy.BLOCK, Duration.ofSeconds(1)))) {
+			List<CompletableFuture<Void>> results = new ArrayList<>();
+			for (int i = 0; i < 30; i++) {
+				results.add(sender.submit("message-" + i));
+			}
+			CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+			assertThat(transport.accepted()).hasSize(30);
+			assertThat(transport.batchSizes()).allMatch(size -> size <= 10).contains(10);
+			assertThat(sender.stats().sent()).isEqualTo(30);
+		}
+	}
+
+	@Test
+	void sendsAPartialBatchOnceTheLingerTimeIsUp() {
+		FakeSqsTransport transport = new FakeSqsTransport(0);
+		try (BatchingSqsSender sender = new BatchingSqsSender(transport, properties(1000, OverflowPolicy.BLOCK, Duration.ofMillis(20)))) {
+			sender.submit("one").join();
+
+			assertThat(transport.batchSizes()).containsExactly(1);
+		}
+	}
+
+	@Test
+	void retriesAFailedCall() {
+		FakeSqsTransport transport = new FakeSqsTransport(0).failNextCalls(2);
+		try (BatchingSqsSender sender = new BatchingSqsSender(transport, properties(1000, OverflowPolicy.BLOCK, Duration.ofMillis(1)))) {
+			sender.submit("retried").join();
+
+			assertThat(transport.accepted()).containsExactly("retried");
+			assertThat(sender.stats().retried()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	void failsAMessageTheQueueKeepsRejecting() {
+		FakeSqsTransport transport = new FakeSqsTransport(0).reject("poison"::equals);
+		try (BatchingSqsSender sender = new BatchingSqsSender(transport, properties(1000, OverflowPolicy.BLOCK, Duration.ofMillis(1)))) {
+			CompletableFuture<Void> poison = sender.submit("poison");
+			sender.submit("fine").join();
+
+			assertThatThrownBy(poison::join).isInstanceOf(CompletionException.class);
+			assertThat(transport.accepted()).containsExactly("fine");
+			assertThat(sender.stats().failed()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void dropsWhenTheBufferIsFull() throws Exception {
+		FakeSqsTransport transport = new FakeSqsTransport(0).hold();
+		// one message per call and one call in flight: with the call held, the flusher parks on the second
+		// message and the third fills the one-slot buffer
+		SqsSenderProperties properties = new SqsSenderProperties(1, 1, Duration.ofMillis(1), OverflowPolicy.DROP,
+				Duration.ofMillis(1), tempDir.resolve("spill.log"), 3, Duration.ofMillis(1), Duration.ofMillis(10), 1);
+		try (BatchingSqsSender sender = new BatchingSqsSender(transport, properties)) {
+			CompletableFuture<Void> inFlight = sender.submit("in-flight");
+			awaitCondition(() -> transport.calls() == 1);
+			CompletableFuture<Void> waitingForACall = sender.submit("waiting-for-a-call");
+			awaitCondition(() -> sender.stats().queueDepth() == 0);
+			CompletableFuture<Void> buffered = sender.submit("buffered");
+
+			CompletableFuture<Void> overflowing = sender.submit("overflowing");
+
+			assertThatThrownBy(overflowing::join).hasCauseInstanceOf(RejectedExecutionException.class);
+			assertThat(sender.stats().dropped()).isEqualTo(1);
+			transport.release();
+			CompletableFuture.allOf(inFlight, waitingForACall, buffered).join();
+			assertThat(transport.accepted()).containsExactly("in-flight", "waiting-for-a-call", "buffered");
+		}
+	}
+
+	@Test
+	void spillsToDiskAndSendsTheSpilledMessagesLater() throws Exception {
+		FakeSqsTransport transport = new FakeSqsTransport(20);
+		Path spillFile = tempDir.resolve("spill.log");
+		SqsSenderProperties properties = new SqsSenderProperties(1, 10, Duration.ofMillis(1), OverflowPolicy.SPILL,
+				Duration.ofMillis(1), spillFile, 5, Duration.ofMillis(1), Duration.ofMillis(10), 1);
+		try (BatchingSqsSender sender = new BatchingSqsSender(transport, properties)) {
+			List<CompletableFuture<Void>> results = new ArrayList<>();
+			for (int i = 0; i < 50; i++) {
+				results.add(sender.submit("{\n  \"n\": " + i + "\n}"));
+			}
+			CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).handle((ignored, error) -> null).join();
+			// a spilled message is not sent yet, so its future must not report success
+			List<CompletableFuture<Void>> spilled = results.stream().filter(CompletableFuture::isCompletedExceptionally).toList();
+			assertThat(spilled).isNotEmpty();
+			assertThat(sender.stats().spilled()).isGreaterThanOrEqualTo(spilled.size());
+			spilled.forEach(result -> assertThatThrownBy(result::join).hasCauseInstanceOf(MessageSpilledException.class));
+
+			long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+			while (transport.accepted().size() < 50 && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+			assertThat(transport.accepted()).hasSize(50).contains("{\n  \"n\": 49\n}");
+			assertThat(Files.exists(spillFile)).isFalse();
+		}
+	}
+
+	private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime()).as("condition met within 10s").isLessThan(deadline);
+			Thread.sleep(1);
+		}
+	}
+
+	private SqsSenderProperties properties(int capacity, OverflowPolicy overflow, Duration linger) {
+		return new SqsSenderProperties(capacity, 10, linger, overflow, Duration.ofMillis(1),
+				tempDir.resolve("spill.log"), 3, Duration.ofMillis(1), Duration.ofMillis(10), 4);
+	}
+}
@@ -0,0 +1,113 @@
+package com.assessment.demo.messaging;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Local stand-in for SQS: answers each batch after a fixed latency on a shared timer, records what
+ * it accepted, and can fail whole calls, reject single messages or hold every answer until released.
+ */
+public class FakeSqsTransport implements SqsTransport {
+
+	private final Executor latency;
+	private final ConcurrentLinkedQueue<String> accepted = new ConcurrentLinkedQueue<>();
+	private final ConcurrentLinkedQueue<Integer> batchSizes = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger callsToFail = new AtomicInteger();
+	private volatile Predicate<String> rejectBody = body -> false;
+	private final AtomicInteger calls = new AtomicInteger();
+	private volatile CountDownLatch gate = new CountDownLatch(0);
+
+	public FakeSqsTransport(long latencyMillis) {
+		this.latency = latencyMillis == 0
+				? Runnable::run
+				: CompletableFuture.delayedExecutor(latencyMillis, TimeUnit.MILLISECONDS);
+	}
+
+	public FakeSqsTransport failNextCalls(int calls) {
+		callsToFail.set(calls);
+		return this;
+	}
+
+	public FakeSqsTransport reject(Predicate<String> rejectBody) {
+		this.rejectBody = rejectBody;
+		return this;
+	}
+
+	// calls are accepted but not answered until release()
+	public FakeSqsTransport hold() {
+		gate = new CountDownLatch(1);
+		return this;
+	}
+
+	public void release() {
+		gate.countDown();
+	}
+
+	@Override
+	public CompletableFuture<Set<String>> send(Map<String, String> messages) {
+		if (messages.size() > MAX_BATCH_SIZE) {
+			return CompletableFuture.failedFuture(new IllegalArgumentException("Too many entries: " + messages.size()));
+		}
+		calls.incrementAndGet();
+		CountDownLatch held = gate;
+		if (held.getCount() > 0) {
+			return CompletableFuture.runAsync(() -> awaitUninterruptibly(held))
+					.thenCompose(released -> answer(messages));
+		}
+		return answer(messages);
+	}
+
+	private CompletableFuture<Set<String>> answer(Map<String, String> messages) {
+		return CompletableFuture.supplyAsync(() -> {
+			batchSizes.add(messages.size());
+			if (callsToFail.getAndUpdate(calls -> Math.max(0, calls - 1)) > 0) {
+				throw new IllegalStateException("queue unavailable");
+			}
+			Set<String> ids = new HashSet<>();
+			messages.forEach((id, body) -> {
+				if (!rejectBody.test(body)) {
+					accepted.add(body);
+					ids.add(id);
+				}
+			});
+			return ids;
+		}, latency);
+	}
+
+	public int calls() {
+		return calls.get();
+	}
+
+	public List<String> accepted() {
+		return new ArrayList<>(accepted);
+	}
+
+	public List<Integer> batchSizes() {
+		return new ArrayList<>(batchSizes);
+	}
+
+	private static void awaitUninterruptibly(CountDownLatch latch) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				latch.await();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
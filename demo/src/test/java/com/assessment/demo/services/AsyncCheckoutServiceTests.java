@@ -0,0 +1,125 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dao.CartRepository;
+import com.assessment.demo.dto.CheckoutStatus;
+import com.assessment.demo.dto.Purchase;
+import com.assessment.demo.entities.Cart;
+import com.assessment.demo.entities.CartItem;
+import com.assessment.demo.entities.Customer;
+import com.assessment.demo.entities.Vacation;
+import com.assessment.demo.services.OrderBatchWriterTests.RecordingCheckoutService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AsyncCheckoutServiceTests {
+
+	private final CartRepository cartRepository = mock(CartRepository.class);
+	private final PricingEngine pricingEngine = mock(PricingEngine.class);
+
+	@Test
+	void writesQueuedOrdersInBatchesAndRecordsTheirOutcome() throws Exception {
+		RecordingCheckoutService checkout = new RecordingCheckoutService(orders -> {
+			if (orders.stream().anyMatch(order -> order.orderTrackingNumber().equals("T2"))) {
+				throw new IllegalStateException("insert failed");
+			}
+		});
+		AsyncCheckoutService service = service(checkout, true, 10);
+		// queued before the writer starts, so it takes all three as one batch
+		CheckoutStatus first = service.submit(purchase()).orElseThrow();
+		CheckoutStatus second = service.submit(purchase()).orElseThrow();
+		CheckoutStatus third = service.submit(purchase()).orElseThrow();
+		assertThat(first).isEqualTo(CheckoutStatus.pending("T1"));
+		assertThat(service.status("T2")).contains(CheckoutStatus.pending("T2"));
+		service.start();
+		try {
+			awaitWritten(service, "T1", "T2", "T3");
+
+			assertThat(service.status(first.orderTrackingNumber())).contains(CheckoutStatus.ordered("T1"));
+			assertThat(service.status(second.orderTrackingNumber())).contains(CheckoutStatus.failed("T2", "insert failed"));
+			assertThat(service.status(third.orderTrackingNumber())).contains(CheckoutStatus.ordered("T3"));
+			// the failed batch was split and retried order by order
+			assertThat(checkout.calls).containsExactly(
+					List.of("T1", "T2", "T3"), List.of("T1"), List.of("T2"), List.of("T3"));
+		} finally {
+			service.stop();
+		}
+	}
+
+	@Test
+	void rejectsPurchasesTheWriterCouldNotStore() {
+		AsyncCheckoutService service = service(new RecordingCheckoutService(orders -> {
+		}), false, 10);
+		Purchase withoutItems = purchase();
+		withoutItems.setCartItems(Set.of());
+		Purchase withoutCustomer = purchase();
+		withoutCustomer.setCustomer(null);
+
+		assertThatIllegalArgumentException().isThrownBy(() -> service.submit(withoutItems));
+		assertThatIllegalArgumentException().isThrownBy(() -> service.submit(withoutCustomer));
+		assertThat(service.queueDepth()).isZero();
+	}
+
+	@Test
+	void answersEmptyWhenTheQueueIsFull() {
+		AsyncCheckoutService service = service(new RecordingCheckoutService(orders -> {
+		}), false, 1);
+
+		assertThat(service.submit(purchase())).isPresent();
+		assertThat(service.submit(purchase())).isEmpty();
+		assertThat(service.queueDepth()).isOne();
+		// the rejected order's pending status is not kept
+		assertThat(service.status("T2")).isEmpty();
+	}
+
+	@Test
+	void looksUpExpiredStatusesInTheCartsTable() {
+		AsyncCheckoutService service = service(new RecordingCheckoutService(orders -> {
+		}), false, 1);
+		when(cartRepository.existsByOrderTrackingNumber("OLD")).thenReturn(true);
+
+		assertThat(service.status("OLD")).contains(CheckoutStatus.ordered("OLD"));
+		assertThat(service.status("NONE")).isEmpty();
+	}
+
+	private AsyncCheckoutService service(RecordingCheckoutService checkout, boolean enabled, int queueCapacity) {
+		return new AsyncCheckoutService(checkout, new OrderBatchWriter(checkout), cartRepository, pricingEngine,
+				enabled, queueCapacity, 50, 1000, Duration.ofHours(1));
+	}
+
+	private static void awaitWritten(AsyncCheckoutService service, String... orderTrackingNumbers) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		for (String orderTrackingNumber : orderTrackingNumbers) {
+			while (service.status(orderTrackingNumber).map(CheckoutStatus::status)
+					.orElse(CheckoutStatus.State.pending) == CheckoutStatus.State.pending) {
+				assertThat(System.nanoTime()).isLessThan(deadline);
+				Thread.sleep(5);
+			}
+		}
+	}
+
+	private static Purchase purchase() {
+		Vacation vacation = new Vacation();
+		vacation.setId(1L);
+		CartItem item = new CartItem();
+		item.setVacation(vacation);
+		Set<CartItem> items = new LinkedHashSet<>();
+		items.add(item);
+		Customer customer = new Customer();
+		customer.setId(1L);
+		Purchase purchase = new Purchase();
+		purchase.setCustomer(customer);
+		purchase.setCart(new Cart());
+		purchase.setCartItems(items);
+		return purchase;
+	}
+}
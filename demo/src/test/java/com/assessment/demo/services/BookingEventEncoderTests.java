@@ -0,0 +1,118 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dto.Purchase;
+import com.assessment.demo.entities.Cart;
+import com.assessment.demo.entities.CartItem;
+import com.assessment.demo.entities.Customer;
+import com.assessment.demo.entities.Excursion;
+import com.assessment.demo.entities.Vacation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingEventEncoderTests {
+
+	private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-05-01T12:00:00Z"), ZoneOffset.UTC);
+
+	private final Vacation vacation = vacation(7L, "Paris \"City of Light\"", "1000.00");
+	private final Excursion excursion = excursion(70L, "Louvre\nnight tour", "49.5", vacation);
+
+	@Test
+	void jsonCarriesTheWholeOrderWithCatalogTitlesAndEscaping() throws Exception {
+		BookingEventEncoder encoder = encoder(BookingEventEncoder.Encoding.JSON);
+
+		JsonNode event = new ObjectMapper().readTree(encoder.encode("0J8ZK3B2Q4X7M", purchase()));
+
+		assertThat(event.get("type").asText()).isEqualTo("booking.placed");
+		assertThat(event.get("version").asInt()).isEqualTo(2);
+		assertThat(event.get("orderTrackingNumber").asText()).isEqualTo("0J8ZK3B2Q4X7M");
+		assertThat(event.get("placedAt").asText()).isEqualTo("2024-05-01T12:00:00Z");
+		assertThat(event.at("/customer/lastName").asText()).isEqualTo("O'Brien \\ Sons");
+		assertThat(event.get("partySize").asInt()).isEqualTo(2);
+		assertThat(event.get("totalPrice").decimalValue()).isEqualByComparingTo("2099.00");
+		assertThat(event.at("/items/0/vacationTitle").asText()).isEqualTo("Paris \"City of Light\"");
+		assertThat(event.at("/items/0/excursions/0/title").asText()).isEqualTo("Louvre\nnight tour");
+		assertThat(event.at("/items/0/excursions/0/price").decimalValue()).isEqualByComparingTo("49.50");
+	}
+
+	@Test
+	void reusedBuffersDoNotLeakBetweenEvents() {
+		BookingEventEncoder encoder = encoder(BookingEventEncoder.Encoding.JSON);
+
+		String first = encoder.encode("FIRST", purchase());
+		String second = encoder.encode("SECOND", purchase());
+
+		assertThat(first).contains("FIRST").doesNotContain("SECOND");
+		assertThat(second).contains("SECOND").doesNotContain("FIRST").hasSameSizeAs(first.replace("FIRST", "SECOND"));
+	}
+
+	@Test
+	void binaryIsVersionedAndSmallerThanJson() {
+		String json = encoder(BookingEventEncoder.Encoding.JSON).encode("0J8ZK3B2Q4X7M", purchase());
+		String binary = encoder(BookingEventEncoder.Encoding.BINARY).encode("0J8ZK3B2Q4X7M", purchase());
+
+		byte[] bytes = Base64.getDecoder().decode(binary);
+		assertThat(bytes[0]).isEqualTo(BookingEventEncoder.BINARY_MAGIC);
+		assertThat(bytes[1]).isEqualTo((byte) BookingEventEncoder.SCHEMA_VERSION);
+		assertThat(new String(bytes, StandardCharsets.UTF_8)).contains("0J8ZK3B2Q4X7M", "Louvre\nnight tour");
+		assertThat(binary.length()).isLessThan(json.length() / 2);
+	}
+
+	private BookingEventEncoder encoder(BookingEventEncoder.Encoding encoding) {
+		return new BookingEventEncoder(encoding, ids -> List.of(vacation), ids -> List.of(excursion), CLOCK);
+	}
+
+	// the client only sends ids; titles and prices must come from the catalog
+	private static Purchase purchase() {
+		Customer customer = new Customer();
+		customer.setId(1L);
+		customer.setFirstName("Jane");
+		customer.setLastName("O'Brien \\ Sons");
+
+		Cart cart = new Cart();
+		cart.setParty_size(2);
+		cart.setPackage_price(new BigDecimal("2099.00"));
+
+		Vacation vacationRef = new Vacation();
+		vacationRef.setId(7L);
+		Excursion excursionRef = new Excursion();
+		excursionRef.setId(70L);
+		CartItem item = new CartItem();
+		item.setVacation(vacationRef);
+		item.setExcursions(Set.of(excursionRef));
+
+		Purchase purchase = new Purchase();
+		purchase.setCustomer(customer);
+		purchase.setCart(cart);
+		purchase.setCartItems(Set.of(item));
+		return purchase;
+	}
+
+	private static Vacation vacation(Long id, String title, String price) {
+		Vacation vacation = new Vacation();
+		vacation.setId(id);
+		vacation.setVacation_title(title);
+		vacation.setTravel_price(new BigDecimal(price));
+		return vacation;
+	}
+
+	private static Excursion excursion(Long id, String title, String price, Vacation vacation) {
+		Excursion excursion = new Excursion();
+		excursion.setId(id);
+		excursion.setExcursion_title(title);
+		excursion.setExcursion_price(new BigDecimal(price));
+		excursion.setVacation(vacation);
+		return excursion;
+	}
+}
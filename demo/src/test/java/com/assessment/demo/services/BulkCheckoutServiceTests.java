@@ -0,0 +1,129 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dao.CustomerRepository;
+import com.assessment.demo.dto.BulkPurchaseResult;
+import com.assessment.demo.dto.Purchase;
+import com.assessment.demo.entities.Cart;
+import com.assessment.demo.entities.CartItem;
+import com.assessment.demo.entities.Customer;
+import com.assessment.demo.entities.Vacation;
+import com.assessment.demo.services.OrderBatchWriterTests.RecordingCheckoutService;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkCheckoutServiceTests {
+
+	private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+	private final PricingEngine pricingEngine = mock(PricingEngine.class);
+
+	BulkCheckoutServiceTests() {
+		when(customerRepository.findAllById(anyIterable())).thenReturn(List.of(customer(1L)));
+	}
+
+	@Test
+	void writesValidPurchasesInChunksAndAnswersInRequestOrder() {
+		RecordingCheckoutService checkout = new RecordingCheckoutService(orders -> {
+		});
+
+		List<BulkPurchaseResult> results = service(checkout, 2).placeOrders(List.of(
+				purchase(1L), purchase(9L), purchase(1L), purchase(1L)));
+
+		assertThat(results).containsExactly(
+				BulkPurchaseResult.ordered(0, "T1"),
+				BulkPurchaseResult.failed(1, "Unknown customer 9"),
+				BulkPurchaseResult.ordered(2, "T2"),
+				BulkPurchaseResult.ordered(3, "T3"));
+		assertThat(checkout.calls).containsExactly(List.of("T1", "T2"), List.of("T3"));
+		// one customer lookup for the whole request
+		verify(customerRepository, times(1)).findAllById(anyIterable());
+	}
+
+	@Test
+	void aFailingPurchaseOnlyFailsItself() {
+		RecordingCheckoutService checkout = new RecordingCheckoutService(orders -> {
+			if (orders.stream().anyMatch(order -> order.orderTrackingNumber().equals("T2"))) {
+				throw new IllegalStateException("excursion_cartitem insert failed");
+			}
+		});
+
+		List<BulkPurchaseResult> results = service(checkout, 10).placeOrders(List.of(
+				purchase(1L), purchase(1L), purchase(1L)));
+
+		assertThat(results).containsExactly(
+				BulkPurchaseResult.ordered(0, "T1"),
+				BulkPurchaseResult.failed(1, "excursion_cartitem insert failed"),
+				BulkPurchaseResult.ordered(2, "T3"));
+		assertThat(checkout.calls).containsExactly(
+				List.of("T1", "T2", "T3"), List.of("T1"), List.of("T2"), List.of("T3"));
+	}
+
+	@Test
+	void rejectsPurchasesThePricingEngineRejects() {
+		RecordingCheckoutService checkout = new RecordingCheckoutService(orders -> {
+		});
+		Purchase unpriced = purchase(1L);
+		when(pricingEngine.quote(any())).thenAnswer(invocation -> {
+			if (invocation.getArgument(0) == unpriced) {
+				throw new IllegalArgumentException("Unknown vacation 7");
+			}
+			return null;
+		});
+
+		List<BulkPurchaseResult> results = service(checkout, 10).placeOrders(List.of(purchase(1L), unpriced));
+
+		assertThat(results).containsExactly(
+				BulkPurchaseResult.ordered(0, "T1"),
+				BulkPurchaseResult.failed(1, "Unknown vacation 7"));
+		assertThat(checkout.calls).containsExactly(List.of("T1"));
+	}
+
+	@Test
+	void everyBookingIsWrittenAsANewCart() {
+		RecordingCheckoutService checkout = new RecordingCheckoutService(orders -> {
+		});
+		Purchase purchase = purchase(1L);
+		purchase.getCart().setId(42L);
+
+		service(checkout, 10).placeOrders(List.of(purchase));
+
+		assertThat(purchase.getCart().getId()).isNull();
+		assertThat(purchase.getCartItems()).allMatch(item -> item.getId() == null);
+	}
+
+	private BulkCheckoutService service(RecordingCheckoutService checkout, int chunkSize) {
+		return new BulkCheckoutService(checkout, new OrderBatchWriter(checkout), pricingEngine, customerRepository,
+				chunkSize, 1000);
+	}
+
+	private static Purchase purchase(Long customerId) {
+		Vacation vacation = new Vacation();
+		vacation.setId(1L);
+		CartItem item = new CartItem();
+		item.setId(5L);
+		item.setVacation(vacation);
+		Set<CartItem> items = new LinkedHashSet<>();
+		items.add(item);
+		Purchase purchase = new Purchase();
+		purchase.setCustomer(customer(customerId));
+		purchase.setCart(new Cart());
+		purchase.setCartItems(items);
+		return purchase;
+	}
+
+	private static Customer customer(Long id) {
+		Customer customer = new Customer();
+		customer.setId(id);
+		return customer;
+	}
+}
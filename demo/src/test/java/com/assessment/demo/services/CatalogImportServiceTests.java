@@ -0,0 +1,48 @@
+package com.assessment.demo.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class CatalogImportServiceTests {
+
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+	private final CatalogImportService importService = new CatalogImportService(new ObjectMapper(), transactionManager,
+			mock(ApplicationEventPublisher.class), 50, 1000);
+
+	@Test
+	void rejectsACsvRowWithoutVacationTitle() {
+		String csv = """
+				vacation_title,travel_price,excursion_title,excursion_price
+				,1200,Snorkeling,80
+				Bahamas,1500,Parasailing,120
+				""";
+
+		assertThatThrownBy(() -> importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("line 2: vacation_title is required");
+		verifyNoInteractions(transactionManager);
+	}
+
+	@Test
+	void rejectsMalformedJsonAsBadInput() {
+		String json = """
+				[
+				  {"vacation_title": "Fiji", "travel_price": }
+				]
+				""";
+
+		assertThatThrownBy(() -> importService.importJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageStartingWith("invalid JSON at line 2, column");
+		verifyNoInteractions(transactionManager);
+	}
+}
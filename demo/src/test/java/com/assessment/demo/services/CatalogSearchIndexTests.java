@@ -0,0 +1,91 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dto.SearchHit;
+import com.assessment.demo.entities.Excursion;
+import com.assessment.demo.entities.Vacation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogSearchIndexTests {
+
+	private CatalogCache catalogCache;
+	private CatalogSearchIndex index;
+
+	private Vacation italy;
+	private Vacation quebec;
+
+	@BeforeEach
+	void setUp() {
+		italy = vacation(1L, "Italy", "Visit the beautiful country of Italy");
+		quebec = vacation(2L, "Québec City", "Old town walks and poutine");
+		catalogCache = mock(CatalogCache.class);
+		when(catalogCache.findAllVacations()).thenReturn(List.of(italy, quebec));
+		when(catalogCache.findAllExcursions()).thenReturn(List.of(
+				excursion(10L, "Zip Lining", italy),
+				excursion(11L, "Historic Tour", italy),
+				excursion(12L, "Historic Walking Tour", quebec)));
+		index = new CatalogSearchIndex(catalogCache);
+		index.rebuild();
+	}
+
+	@Test
+	void prefixMatchesRankTitlesFirst() {
+		List<SearchHit> hits = index.search("ital", null, 10);
+
+		assertThat(hits).extracting(SearchHit::title).containsExactly("Italy");
+		assertThat(hits.get(0).type()).isEqualTo("vacation");
+	}
+
+	@Test
+	void everyTermMustMatchAndLastTermIsAPrefix() {
+		List<SearchHit> hits = index.search("historic walk", null, 10);
+
+		assertThat(hits).extracting(SearchHit::id).containsExactly(12L);
+		assertThat(hits.get(0).vacationId()).isEqualTo(2L);
+	}
+
+	@Test
+	void ignoresCaseAndAccentsAndFiltersByType() {
+		assertThat(index.search("QUEBEC", null, 10)).extracting(SearchHit::id).containsExactly(2L);
+		assertThat(index.search("tour", CatalogSearchIndex.DocType.VACATION, 10)).isEmpty();
+		assertThat(index.search("tour", CatalogSearchIndex.DocType.EXCURSION, 1)).hasSize(1);
+	}
+
+	@Test
+	void appliesCatalogChangesIncrementally() {
+		when(catalogCache.findExcursionById(10L)).thenReturn(Optional.empty());
+		index.onCatalogChanged(CatalogChangedEvent.excursion(10L));
+		assertThat(index.search("zip", null, 10)).isEmpty();
+
+		when(catalogCache.findVacationById(1L)).thenReturn(Optional.empty());
+		index.onCatalogChanged(CatalogChangedEvent.vacation(1L));
+		assertThat(index.search("historic", null, 10)).extracting(SearchHit::id).containsExactly(12L);
+		assertThat(index.size()).isEqualTo(2);
+	}
+
+	private static Vacation vacation(Long id, String title, String description) {
+		Vacation vacation = new Vacation();
+		vacation.setId(id);
+		vacation.setVacation_title(title);
+		vacation.setDescription(description);
+		vacation.setTravel_price(new BigDecimal("1000.00"));
+		return vacation;
+	}
+
+	private static Excursion excursion(Long id, String title, Vacation vacation) {
+		Excursion excursion = new Excursion();
+		excursion.setId(id);
+		excursion.setExcursion_title(title);
+		excursion.setExcursion_price(new BigDecimal("100.00"));
+		excursion.setVacation(vacation);
+		return excursion;
+	}
+}
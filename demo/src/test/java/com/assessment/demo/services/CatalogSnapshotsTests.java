@@ -0,0 +1,54 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dao.CountryRepository;
+import com.assessment.demo.dao.DivisionRepository;
+import com.assessment.demo.dao.ExcursionRepository;
+import com.assessment.demo.dao.VacationRepository;
+import com.assessment.demo.dto.TableVersion;
+import com.assessment.demo.entities.Vacation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogSnapshotsTests {
+
+	private final VacationRepository vacationRepository = mock(VacationRepository.class);
+	private final CatalogSnapshots snapshots = new CatalogSnapshots(new ObjectMapper(), vacationRepository,
+			mock(ExcursionRepository.class),
+			new ReferenceDataRegistry(mock(CountryRepository.class), mock(DivisionRepository.class)), true);
+
+	@Test
+	void reusesTheSnapshotWhileTheVersionIsUnchanged() {
+		when(vacationRepository.findAll()).thenReturn(List.of(vacation("Lake Tahoe")));
+		TableVersion version = new TableVersion(1L, new Date(1000));
+
+		assertThat(snapshots.vacations(version)).isSameAs(snapshots.vacations(version));
+		verify(vacationRepository, times(1)).findAll();
+	}
+
+	@Test
+	void rebuildsFromTheRepositoryForANewVersion() {
+		when(vacationRepository.findAll()).thenReturn(List.of(vacation("Lake Tahoe")))
+				.thenReturn(List.of(vacation("Lake Tahoe"), vacation("Yosemite")));
+
+		snapshots.vacations(new TableVersion(1L, new Date(1000)));
+		JsonSnapshot rebuilt = snapshots.vacations(new TableVersion(2L, new Date(2000)));
+
+		assertThat(new String(rebuilt.json(), StandardCharsets.UTF_8)).contains("Yosemite");
+	}
+
+	private static Vacation vacation(String title) {
+		Vacation vacation = new Vacation();
+		vacation.setVacation_title(title);
+		return vacation;
+	}
+}
@@ -0,0 +1,120 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dao.IdempotencyRecordRepository;
+import com.assessment.demo.dto.PurchaseResponse;
+import com.assessment.demo.entities.IdempotencyRecord;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// two services over one H2 database stand in for two nodes, so only the table can stop the duplicate
+class IdempotencyServiceTests {
+
+	private final EntityManagerFactory entityManagerFactory = entityManagerFactory();
+	private final IdempotencyRecordRepository repository = new JpaRepositoryFactory(
+			SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+			.getRepository(IdempotencyRecordRepository.class);
+	private final JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+
+	@AfterEach
+	void tearDown() {
+		entityManagerFactory.close();
+	}
+
+	@Test
+	void replaysTheStoredResponseForARepeatedKey() {
+		AtomicInteger checkouts = new AtomicInteger();
+
+		IdempotencyService.Outcome first = node().execute("key-1", checkout(checkouts, "T-1"));
+		IdempotencyService.Outcome repeated = node().execute("key-1", checkout(checkouts, "T-2"));
+
+		assertThat(first.replayed()).isFalse();
+		assertThat(repeated.replayed()).isTrue();
+		assertThat(repeated.response().getOrderTrackingNumber()).isEqualTo("T-1");
+		assertThat(checkouts).hasValue(1);
+	}
+
+	@Test
+	void concurrentDuplicateOnAnotherNodeWaitsAndReplays() throws Exception {
+		AtomicInteger checkouts = new AtomicInteger();
+		CountDownLatch firstRunning = new CountDownLatch(1);
+		CompletableFuture<IdempotencyService.Outcome> first = CompletableFuture.supplyAsync(() ->
+				node().execute("key-1", () -> {
+					firstRunning.countDown();
+					// keeps the claim uncommitted while the duplicate arrives
+					sleep(500);
+					return checkout(checkouts, "T-1").get();
+				}));
+		assertThat(firstRunning.await(5, TimeUnit.SECONDS)).isTrue();
+
+		IdempotencyService.Outcome duplicate = node().execute("key-1", checkout(checkouts, "T-2"));
+
+		assertThat(first.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+		assertThat(duplicate.replayed()).isTrue();
+		assertThat(duplicate.response().getOrderTrackingNumber()).isEqualTo("T-1");
+		assertThat(checkouts).hasValue(1);
+	}
+
+	@Test
+	void failedCheckoutReleasesTheKey() {
+		AtomicInteger checkouts = new AtomicInteger();
+
+		assertThatThrownBy(() -> node().execute("key-1", () -> {
+			throw new IllegalStateException("payment declined");
+		})).isInstanceOf(IllegalStateException.class);
+		IdempotencyService.Outcome retried = node().execute("key-1", checkout(checkouts, "T-2"));
+
+		assertThat(retried.replayed()).isFalse();
+		assertThat(retried.response().getOrderTrackingNumber()).isEqualTo("T-2");
+	}
+
+	private IdempotencyService node() {
+		return new IdempotencyService(repository, transactionManager, 100, Duration.ofHours(24));
+	}
+
+	private static Supplier<PurchaseResponse> checkout(AtomicInteger checkouts, String trackingNumber) {
+		return () -> {
+			checkouts.incrementAndGet();
+			return new PurchaseResponse(trackingNumber);
+		};
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static EntityManagerFactory entityManagerFactory() {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:idempotency-" + System.nanoTime() + ";MODE=PostgreSQL;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1");
+		LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+		factory.setDataSource(dataSource);
+		factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+		factory.setManagedTypes(PersistenceManagedTypes.of(List.of(IdempotencyRecord.class.getName()), List.of()));
+		factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create"));
+		factory.afterPropertiesSet();
+		return factory.getObject();
+	}
+}
@@ -0,0 +1,110 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dao.CartRepository;
+import com.assessment.demo.dto.TrackingNumberRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IssuedTrackingNumbersTests {
+
+	private static final long LOADED_AT = 1_735_689_600_000L;
+
+	private final AtomicLong clock = new AtomicLong(LOADED_AT);
+	private final CartRepository cartRepository = mock(CartRepository.class);
+	private final String loadedNumber = issuedAt(LOADED_AT - 3_600_000L);
+	private final IssuedTrackingNumbers issued = new IssuedTrackingNumbers(cartRepository,
+			mock(PlatformTransactionManager.class), 1000, 0.01, 100, Duration.ofMinutes(1), Duration.ofMinutes(1),
+			true, clock::get);
+
+	IssuedTrackingNumbersTests() {
+		when(cartRepository.streamTrackingNumbersAfter(0L)).thenReturn(Stream.of(
+				new TrackingNumberRow(1L, loadedNumber), new TrackingNumberRow(2L, "3fa85f64-5717-4562-b3fc-2c963f66afa6")));
+		issued.load();
+		clock.addAndGet(600_000L);
+	}
+
+	@Test
+	void loadedAndAddedNumbersAreAnsweredFromTheFilter() {
+		String local = issuedAt(clock.get());
+		issued.add(local);
+
+		assertThat(issued.mightExist(loadedNumber)).isTrue();
+		assertThat(issued.mightExist("3fa85f64-5717-4562-b3fc-2c963f66afa6")).isTrue();
+		assertThat(issued.mightExist(local)).isTrue();
+		verify(cartRepository, never()).existsByOrderTrackingNumber(anyString());
+	}
+
+	@Test
+	void malformedFutureAndOldNumbersAreRejectedWithoutAQuery() {
+		assertThat(issued.mightExist("not-a-tracking-number")).isFalse();
+		assertThat(issued.mightExist("0123456789abcdefghjkmnpqrs")).isFalse();
+		assertThat(issued.mightExist(issuedAt(clock.get() + 3_600_000L))).isFalse();
+		assertThat(issued.mightExist(issuedAt(LOADED_AT - 120_000L))).isFalse();
+		verify(cartRepository, never()).existsByOrderTrackingNumber(anyString());
+	}
+
+	@Test
+	void recentNumberIssuedByAnotherInstanceIsFoundInTheDatabase() {
+		String remote = issuedAt(clock.get() - 1_000L);
+		when(cartRepository.existsByOrderTrackingNumber(remote)).thenReturn(true);
+
+		assertThat(issued.mightExist(remote)).isTrue();
+		assertThat(issued.mightExist(remote)).isTrue();
+		verify(cartRepository, times(1)).existsByOrderTrackingNumber(remote);
+	}
+
+	@Test
+	void numberCommittedWhileTheFilterLoadedIsLookedUp() {
+		String committing = issuedAt(LOADED_AT - 30_000L);
+		when(cartRepository.existsByOrderTrackingNumber(committing)).thenReturn(true);
+
+		assertThat(issued.mightExist(committing)).isTrue();
+	}
+
+	@Test
+	void unknownRecentNumberIsLookedUpOnce() {
+		String guessed = issuedAt(clock.get());
+
+		assertThat(issued.mightExist(guessed)).isFalse();
+		assertThat(issued.mightExist(guessed)).isFalse();
+		verify(cartRepository, times(1)).existsByOrderTrackingNumber(guessed);
+	}
+
+	@Test
+	void issuingANumberClearsItsRememberedMiss() {
+		String late = issuedAt(clock.get());
+		assertThat(issued.mightExist(late)).isFalse();
+
+		issued.add(late);
+
+		assertThat(issued.mightExist(late)).isTrue();
+	}
+
+	@Test
+	void uuidNumbersAreLookedUpOnEveryMiss() {
+		IssuedTrackingNumbers uuids = new IssuedTrackingNumbers(cartRepository, mock(PlatformTransactionManager.class),
+				1000, 0.01, 100, Duration.ofMinutes(1), Duration.ofMinutes(1), false, clock::get);
+		when(cartRepository.streamTrackingNumbersAfter(0L)).thenReturn(Stream.empty());
+		uuids.load();
+		when(cartRepository.existsByOrderTrackingNumber("3fa85f64-5717-4562-b3fc-2c963f66afa6")).thenReturn(true);
+
+		assertThat(uuids.mightExist("3fa85f64-5717-4562-b3fc-2c963f66afa6")).isTrue();
+	}
+
+	private static String issuedAt(long millis) {
+		return new TimeOrderedTrackingNumberGenerator(() -> millis, new SplittableRandom(millis)).next();
+	}
+}
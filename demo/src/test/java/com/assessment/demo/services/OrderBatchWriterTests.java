@@ -0,0 +1,128 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dto.PendingOrder;
+import com.assessment.demo.dto.Purchase;
+import com.assessment.demo.dto.PurchaseResponse;
+import com.assessment.demo.entities.Cart;
+import com.assessment.demo.entities.CartItem;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderBatchWriterTests {
+
+	@Test
+	void writesTheGroupInOneTransaction() {
+		RecordingCheckoutService checkout = new RecordingCheckoutService(orders -> {
+		});
+		List<PendingOrder> orders = List.of(order("T1"), order("T2"), order("T3"));
+
+		Map<String, Exception> failures = new OrderBatchWriter(checkout).write(orders);
+
+		assertThat(failures).isEmpty();
+		assertThat(checkout.calls).containsExactly(List.of("T1", "T2", "T3"));
+	}
+
+	@Test
+	void retriesOrdersOneByOneAfterTheGroupFailed() {
+		RecordingCheckoutService checkout = new RecordingCheckoutService(orders -> {
+			if (orders.stream().anyMatch(order -> order.orderTrackingNumber().equals("T2"))) {
+				throw new IllegalStateException("constraint violation");
+			}
+		});
+
+		Map<String, Exception> failures = new OrderBatchWriter(checkout)
+				.write(List.of(order("T1"), order("T2"), order("T3")));
+
+		assertThat(failures).containsOnlyKeys("T2");
+		assertThat(failures.get("T2")).hasMessage("constraint violation");
+		assertThat(checkout.calls).containsExactly(
+				List.of("T1", "T2", "T3"),
+				List.of("T1"),
+				List.of("T2"),
+				List.of("T3"));
+	}
+
+	// Hibernate leaves the ids it generated on the entities when the transaction rolls back
+	@Test
+	void retriesWithTheSubmittedIdsAfterARolledBackGroup() {
+		List<Long> cartIdsOnRetry = new ArrayList<>();
+		List<Long> itemIdsOnRetry = new ArrayList<>();
+		RecordingCheckoutService checkout = new RecordingCheckoutService(orders -> {
+			if (orders.size() > 1) {
+				long id = 100;
+				for (PendingOrder order : orders) {
+					order.purchase().getCart().setId(id++);
+					for (CartItem item : order.purchase().getCartItems()) {
+						item.setId(id++);
+					}
+				}
+				throw new IllegalStateException("rolled back");
+			}
+			cartIdsOnRetry.add(orders.get(0).purchase().getCart().getId());
+			orders.get(0).purchase().getCartItems().forEach(item -> itemIdsOnRetry.add(item.getId()));
+		});
+
+		Map<String, Exception> failures = new OrderBatchWriter(checkout).write(List.of(order("T1"), order("T2")));
+
+		assertThat(failures).isEmpty();
+		assertThat(cartIdsOnRetry).containsExactly(null, null);
+		assertThat(itemIdsOnRetry).containsExactly(1L, 1L);
+	}
+
+	@Test
+	void writesNothingForNoOrders() {
+		RecordingCheckoutService checkout = new RecordingCheckoutService(orders -> {
+		});
+
+		assertThat(new OrderBatchWriter(checkout).write(List.of())).isEmpty();
+		assertThat(checkout.calls).isEmpty();
+	}
+
+	private static PendingOrder order(String orderTrackingNumber) {
+		CartItem item = new CartItem();
+		item.setId(1L);
+		Set<CartItem> items = new LinkedHashSet<>();
+		items.add(item);
+		Purchase purchase = new Purchase();
+		purchase.setCart(new Cart());
+		purchase.setCartItems(items);
+		return new PendingOrder(orderTrackingNumber, purchase);
+	}
+
+	// placeOrders records the tracking numbers of every call, then runs the given behaviour
+	static final class RecordingCheckoutService implements CheckoutService {
+
+		final List<List<String>> calls = Collections.synchronizedList(new ArrayList<>());
+		private final Consumer<List<PendingOrder>> behaviour;
+		private int issued;
+
+		RecordingCheckoutService(Consumer<List<PendingOrder>> behaviour) {
+			this.behaviour = behaviour;
+		}
+
+		@Override
+		public PurchaseResponse placeOrder(Purchase purchase) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized String newOrderTrackingNumber() {
+			return "T" + ++issued;
+		}
+
+		@Override
+		public void placeOrders(List<PendingOrder> orders) {
+			calls.add(orders.stream().map(PendingOrder::orderTrackingNumber).toList());
+			behaviour.accept(orders);
+		}
+	}
+}
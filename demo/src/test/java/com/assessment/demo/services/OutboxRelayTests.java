@@ -0,0 +1,226 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dao.OutboxEventRepository;
+import com.assessment.demo.entities.OutboxEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTests {
+
+	private static final long NOW = 1_735_689_600_000L;
+
+	private final OutboxEventRepository repository = mock(OutboxEventRepository.class);
+
+	@Test
+	void publishesClaimedEventsInGroupsOfTenAndMarksThemDelivered() {
+		List<OutboxEvent> claimed = events(1, 25);
+		when(repository.claimPending(eq(100), any())).thenReturn(claimed);
+		InMemoryBookingEventTransport transport = new InMemoryBookingEventTransport(100);
+		List<Integer> batchSizes = new ArrayList<>();
+		BookingEventTransport counting = events -> {
+			batchSizes.add(events.size());
+			return transport.send(events);
+		};
+
+		int delivered = relay(counting).relayOnce();
+
+		assertThat(delivered).isEqualTo(25);
+		assertThat(batchSizes).containsExactly(10, 10, 5);
+		assertThat(transport.sent()).hasSize(25).startsWith("event-1");
+		verify(repository).markDelivered(eq(ids(1, 25)), any());
+		verify(repository, never()).scheduleRetry(anyCollection(), any());
+		verify(repository, never()).park(anyCollection(), any());
+	}
+
+	@Test
+	void leavesEventsOfAFailedBatchForTheNextRun() {
+		when(repository.claimPending(eq(100), any())).thenReturn(events(1, 15));
+		BookingEventTransport failingSecondBatch = events -> {
+			if (events.get(0).getId() > 10) {
+				throw new IllegalStateException("queue unavailable");
+			}
+			Set<Long> sent = new HashSet<>();
+			events.forEach(event -> sent.add(event.getId()));
+			return sent;
+		};
+
+		int delivered = relay(failingSecondBatch).relayOnce();
+
+		assertThat(delivered).isEqualTo(10);
+		verify(repository).markDelivered(eq(ids(1, 10)), any());
+		verify(repository).scheduleRetry(eq(ids(11, 15)), eq(new Date(NOW + 1_000)));
+		verify(repository, never()).park(anyCollection(), any());
+	}
+
+	@Test
+	void backsOffExponentiallyUpToTheLimit() {
+		OutboxRelay relay = relay(events -> Set.of());
+
+		assertThat(relay.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+		assertThat(relay.backoff(2)).isEqualTo(Duration.ofSeconds(2));
+		assertThat(relay.backoff(4)).isEqualTo(Duration.ofSeconds(8));
+		assertThat(relay.backoff(10)).isEqualTo(Duration.ofMinutes(1));
+		assertThat(relay.backoff(100)).isEqualTo(Duration.ofMinutes(1));
+	}
+
+	@Test
+	void failedEventsWaitAccordingToTheirOwnAttemptCount() {
+		List<OutboxEvent> claimed = events(1, 3);
+		claimed.get(1).setAttempts(2);
+		claimed.get(2).setAttempts(2);
+		when(repository.claimPending(eq(100), any())).thenReturn(claimed);
+
+		assertThat(relay(events -> Set.of()).relayOnce()).isZero();
+
+		verify(repository).scheduleRetry(eq(Set.of(1L)), eq(new Date(NOW + 1_000)));
+		verify(repository).scheduleRetry(eq(Set.of(2L, 3L)), eq(new Date(NOW + 4_000)));
+	}
+
+	@Test
+	void rejectedEventsAreParkedOnceTheyRunOutOfAttempts() {
+		List<OutboxEvent> claimed = events(1, 3);
+		claimed.get(0).setAttempts(4);
+		when(repository.claimPending(eq(100), any())).thenReturn(claimed);
+		BookingEventTransport rejectingFirst = events -> {
+			Set<Long> sent = new HashSet<>();
+			events.stream().filter(event -> event.getId() != 1L).forEach(event -> sent.add(event.getId()));
+			return sent;
+		};
+
+		int delivered = relay(rejectingFirst).relayOnce();
+
+		assertThat(delivered).isEqualTo(2);
+		verify(repository).markDelivered(eq(ids(2, 3)), any());
+		verify(repository).park(eq(Set.of(1L)), eq(new Date(NOW)));
+		verify(repository, never()).scheduleRetry(anyCollection(), any());
+	}
+
+	@Test
+	void doesNothingWithoutPendingEvents() {
+		when(repository.claimPending(eq(100), any())).thenReturn(List.of());
+
+		assertThat(relay(new InMemoryBookingEventTransport(10)).relayOnce()).isZero();
+		verify(repository, never()).markDelivered(anyCollection(), any());
+	}
+
+	// against H2: a failed event waits out its backoff, is parked after max-attempts without holding up the
+	// event behind it, and goes out again once re-driven
+	@Test
+	void failedEventBacksOffIsParkedAndCanBeRedriven() {
+		EntityManagerFactory entityManagerFactory = entityManagerFactory();
+		try {
+			OutboxEventRepository outbox = new JpaRepositoryFactory(
+					SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+					.getRepository(OutboxEventRepository.class);
+			JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+			TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+			transaction.executeWithoutResult(status -> {
+				outbox.save(new OutboxEvent("T1", "poison"));
+				outbox.save(new OutboxEvent("T2", "event-2"));
+			});
+			InMemoryBookingEventTransport delivered = new InMemoryBookingEventTransport(10);
+			AtomicBoolean poisonAccepted = new AtomicBoolean();
+			BookingEventTransport rejectingPoison = events -> delivered.send(events.stream()
+					.filter(event -> poisonAccepted.get() || !event.getPayload().equals("poison")).toList());
+			AtomicLong clock = new AtomicLong(NOW);
+			OutboxRelay relay = new OutboxRelay(outbox, rejectingPoison, transactionManager, true, 1, 3,
+					Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofDays(7), clock::get);
+
+			assertThat(relay.relayOnce()).isZero();
+			// the poison event waits out its backoff, the event behind it is claimed meanwhile
+			assertThat(relay.relayOnce()).isEqualTo(1);
+			assertThat(relay.relayOnce()).isZero();
+			clock.addAndGet(1_000);
+			assertThat(relay.relayOnce()).isZero();
+			clock.addAndGet(1_999);
+			assertThat(relay.relayOnce()).isZero();
+			clock.addAndGet(1);
+			assertThat(relay.relayOnce()).isZero();
+			clock.addAndGet(60_000);
+			assertThat(relay.relayOnce()).isZero();
+
+			assertThat(delivered.sent()).containsExactly("event-2");
+			OutboxEvent poison = findByPayload(outbox, transaction, "poison");
+			assertThat(poison.getAttempts()).isEqualTo(3);
+			assertThat(poison.getParked_date()).isNotNull();
+			assertThat(poison.getDelivered_date()).isNull();
+
+			poisonAccepted.set(true);
+			assertThat(relay.redriveParked()).isEqualTo(1);
+			assertThat(relay.relayOnce()).isEqualTo(1);
+			assertThat(delivered.sent()).containsExactly("event-2", "poison");
+			assertThat(findByPayload(outbox, transaction, "poison").getDelivered_date()).isNotNull();
+		} finally {
+			entityManagerFactory.close();
+		}
+	}
+
+	private OutboxRelay relay(BookingEventTransport transport) {
+		return new OutboxRelay(repository, transport, mock(PlatformTransactionManager.class), true, 100, 5,
+				Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofDays(7), () -> NOW);
+	}
+
+	private static OutboxEvent findByPayload(OutboxEventRepository outbox, TransactionTemplate transaction, String payload) {
+		return transaction.execute(status -> outbox.findAll().stream()
+				.filter(event -> event.getPayload().equals(payload)).findFirst().orElseThrow());
+	}
+
+	private static EntityManagerFactory entityManagerFactory() {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:outbox-" + System.nanoTime() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+		LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+		factory.setDataSource(dataSource);
+		factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+		factory.setManagedTypes(PersistenceManagedTypes.of(List.of(OutboxEvent.class.getName()), List.of()));
+		factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create"));
+		factory.afterPropertiesSet();
+		return factory.getObject();
+	}
+
+	private static List<OutboxEvent> events(long first, long last) {
+		List<OutboxEvent> events = new ArrayList<>();
+		for (long id = first; id <= last; id++) {
+			OutboxEvent event = new OutboxEvent("T" + id, "event-" + id);
+			event.setId(id);
+			events.add(event);
+		}
+		return events;
+	}
+
+	private static Collection<Long> ids(long first, long last) {
+		Set<Long> ids = new HashSet<>();
+		for (long id = first; id <= last; id++) {
+			ids.add(id);
+		}
+		return ids;
+	}
+}
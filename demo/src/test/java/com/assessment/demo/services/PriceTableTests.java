@@ -0,0 +1,51 @@
+package com.assessment.demo.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceTableTests {
+
+	private final PriceTable table = PriceTable.of(List.of(new BigDecimal("19.99"), new BigDecimal("500"),
+			new BigDecimal("2000.50")), price -> price.longValue(), price -> price);
+
+	@Test
+	void roundsPricesToCents() {
+		assertThat(PriceTable.toCents(new BigDecimal("19.995"))).isEqualTo(2000L);
+		assertThat(table.countInRange(PriceTable.toCents(new BigDecimal("20")), Long.MAX_VALUE)).isEqualTo(2);
+	}
+
+	@Test
+	void clampsBoundsOutsideTheLongRange() {
+		assertThat(PriceTable.toCents(new BigDecimal("1e30"))).isEqualTo(Long.MAX_VALUE);
+		assertThat(PriceTable.toCents(new BigDecimal("-1e30"))).isEqualTo(Long.MIN_VALUE);
+		assertThat(table.countInRange(PriceTable.toCents(new BigDecimal("-1e30")),
+				PriceTable.toCents(new BigDecimal("1e30")))).isEqualTo(3);
+		assertThat(table.countInRange(PriceTable.toCents(new BigDecimal("1e30")), Long.MAX_VALUE)).isZero();
+	}
+
+	@Test
+	void answersExtremeExponentsWithoutRescaling() {
+		long started = System.nanoTime();
+
+		assertThat(PriceTable.toCents(new BigDecimal("1e10000000"))).isEqualTo(Long.MAX_VALUE);
+		assertThat(PriceTable.toCents(new BigDecimal("-1e10000000"))).isEqualTo(Long.MIN_VALUE);
+		assertThat(PriceTable.toCents(new BigDecimal("1e-10000000"))).isZero();
+		assertThat(PriceTable.toCents(new BigDecimal("-1e-10000000"))).isZero();
+		assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(1));
+	}
+
+	@Test
+	void keepsExactValuesAtTheEdgesOfTheRange() {
+		assertThat(PriceTable.toCents(new BigDecimal("0.005"))).isEqualTo(1L);
+		assertThat(PriceTable.toCents(new BigDecimal("0.0049"))).isZero();
+		assertThat(PriceTable.toCents(new BigDecimal("5E+2"))).isEqualTo(50_000L);
+		assertThat(PriceTable.toCents(new BigDecimal("92233720368547758.07"))).isEqualTo(Long.MAX_VALUE);
+		assertThat(PriceTable.toCents(new BigDecimal("92233720368547758.08"))).isEqualTo(Long.MAX_VALUE);
+		assertThat(PriceTable.toCents(new BigDecimal("-92233720368547758.08"))).isEqualTo(Long.MIN_VALUE);
+	}
+}
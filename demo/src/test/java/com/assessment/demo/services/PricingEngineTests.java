@@ -0,0 +1,133 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dto.Purchase;
+import com.assessment.demo.dto.Quote;
+import com.assessment.demo.entities.Cart;
+import com.assessment.demo.entities.CartItem;
+import com.assessment.demo.entities.Excursion;
+import com.assessment.demo.entities.Vacation;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PricingEngineTests {
+
+	private final Vacation bahamas = vacation(1L, "1000.00");
+	private final Vacation fiji = vacation(2L, "500.00");
+	private final List<Vacation> vacations = List.of(bahamas, fiji);
+	private final List<Excursion> excursions = List.of(
+			excursion(11L, bahamas, "50.25"),
+			excursion(12L, bahamas, "100.00"),
+			excursion(21L, fiji, "80.00"));
+
+	private final CatalogCache catalogCache = mock(CatalogCache.class);
+	private final PricingEngine pricingEngine = new PricingEngine(catalogCache);
+
+	PricingEngineTests() {
+		when(catalogCache.findVacationsByIds(any())).thenAnswer(invocation -> {
+			Collection<Long> ids = invocation.getArgument(0);
+			return vacations.stream().filter(vacation -> ids.contains(vacation.getId())).toList();
+		});
+		when(catalogCache.findExcursionsByIds(any())).thenAnswer(invocation -> {
+			Collection<Long> ids = invocation.getArgument(0);
+			return excursions.stream().filter(excursion -> ids.contains(excursion.getId())).toList();
+		});
+	}
+
+	@Test
+	void totalIsVacationPlusExcursionsTimesPartySize() {
+		Purchase purchase = purchase(3, item(1L, 1L, 11L, 12L), item(2L, 2L));
+
+		Quote quote = pricingEngine.quote(purchase);
+
+		// (1000.00 + 50.25 + 100.00 + 500.00) x 3
+		assertThat(quote.package_price()).isEqualByComparingTo("4950.75");
+		assertThat(quote.party_size()).isEqualTo(3);
+		assertThat(quote.items()).extracting(Quote.Line::subtotal)
+				.usingElementComparator(BigDecimal::compareTo)
+				.containsExactlyInAnyOrder(new BigDecimal("1150.25"), new BigDecimal("500.00"));
+	}
+
+	@Test
+	void ignoresThePackagePriceTheClientSent() {
+		Purchase purchase = purchase(2, item(1L, 1L, 11L));
+		purchase.getCart().setPackage_price(new BigDecimal("0.01"));
+
+		assertThat(pricingEngine.quote(purchase).package_price()).isEqualByComparingTo("2100.50");
+	}
+
+	@Test
+	void rejectsAnUnknownVacation() {
+		assertThatIllegalArgumentException().isThrownBy(() -> pricingEngine.quote(purchase(1, item(1L, 9L))))
+				.withMessage("Unknown vacation 9");
+	}
+
+	@Test
+	void rejectsAnUnknownExcursion() {
+		assertThatIllegalArgumentException().isThrownBy(() -> pricingEngine.quote(purchase(1, item(1L, 1L, 99L))))
+				.withMessage("Excursion 99 is not offered with vacation 1");
+	}
+
+	@Test
+	void rejectsAnExcursionOfAnotherVacation() {
+		assertThatIllegalArgumentException().isThrownBy(() -> pricingEngine.quote(purchase(1, item(1L, 1L, 21L))))
+				.withMessage("Excursion 21 is not offered with vacation 1");
+	}
+
+	@Test
+	void rejectsAPartySizeBelowOne() {
+		assertThatIllegalArgumentException().isThrownBy(() -> pricingEngine.quote(purchase(0, item(1L, 1L))))
+				.withMessage("party_size must be at least 1");
+	}
+
+	private static Purchase purchase(int partySize, CartItem... items) {
+		Cart cart = new Cart();
+		cart.setParty_size(partySize);
+		Purchase purchase = new Purchase();
+		purchase.setCart(cart);
+		purchase.setCartItems(new LinkedHashSet<>(List.of(items)));
+		return purchase;
+	}
+
+	// only ids, like the checkout request carries them
+	private static CartItem item(Long id, Long vacationId, Long... excursionIds) {
+		Vacation vacation = new Vacation();
+		vacation.setId(vacationId);
+		Set<Excursion> excursions = new LinkedHashSet<>();
+		for (Long excursionId : excursionIds) {
+			Excursion excursion = new Excursion();
+			excursion.setId(excursionId);
+			excursions.add(excursion);
+		}
+		CartItem item = new CartItem();
+		item.setId(id);
+		item.setVacation(vacation);
+		item.setExcursions(excursions);
+		return item;
+	}
+
+	private static Vacation vacation(Long id, String travelPrice) {
+		Vacation vacation = new Vacation();
+		vacation.setId(id);
+		vacation.setTravel_price(new BigDecimal(travelPrice));
+		return vacation;
+	}
+
+	private static Excursion excursion(Long id, Vacation vacation, String price) {
+		Excursion excursion = new Excursion();
+		excursion.setId(id);
+		excursion.setVacation(vacation);
+		excursion.setExcursion_price(new BigDecimal(price));
+		return excursion;
+	}
+}
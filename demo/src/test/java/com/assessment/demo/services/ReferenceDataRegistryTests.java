@@ -0,0 +1,92 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.dao.CountryRepository;
+import com.assessment.demo.dao.DivisionRepository;
+import com.assessment.demo.entities.Country;
+import com.assessment.demo.entities.Division;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReferenceDataRegistryTests {
+
+	private final CountryRepository countryRepository = mock(CountryRepository.class);
+	private final DivisionRepository divisionRepository = mock(DivisionRepository.class);
+	private final ReferenceDataRegistry registry = new ReferenceDataRegistry(countryRepository, divisionRepository);
+
+	@Test
+	void answersLookupsFromMemoryAfterOneLoad() {
+		when(countryRepository.findAll()).thenReturn(List.of(country(3L), country(1L), country(2L)));
+		when(divisionRepository.findAll()).thenReturn(List.of(
+				division(4L, "California", 1L), division(101L, "England", 2L), division(54L, "Alaska", 1L),
+				division(31L, "New York", 1L), division(67L, "Ontario", 3L)));
+
+		registry.load();
+
+		assertThat(registry.findDivision(101L)).map(Division::getDivision_name).contains("England");
+		assertThat(registry.findDivision(999L)).isEmpty();
+		assertThat(registry.findCountry(2L)).isPresent();
+		assertThat(registry.findDivisionsOfCountry(1L).orElseThrow())
+				.extracting(Division::getDivision_name).containsExactly("Alaska", "California", "New York");
+		assertThat(registry.countries()).extracting(Country::getId).containsExactly(1L, 2L, 3L);
+		assertThat(registry.divisionsVersion().rowCount()).isEqualTo(5L);
+		verify(divisionRepository, times(1)).findAll();
+	}
+
+	@Test
+	void knownCountryWithoutDivisionsIsEmptyAndUnknownCountryIsAbsent() {
+		when(countryRepository.findAll()).thenReturn(List.of(country(1L), country(2L)));
+		when(divisionRepository.findAll()).thenReturn(List.of(division(4L, "California", 1L)));
+
+		assertThat(registry.findDivisionsOfCountry(2L)).contains(List.of());
+		assertThat(registry.findDivisionsOfCountry(7L)).isEmpty();
+	}
+
+	@Test
+	void pagesByIdAfterTheCursor() {
+		List<Division> divisions = new ArrayList<>();
+		for (long id = 1; id <= 100; id++) {
+			divisions.add(division(id * 2, "Division " + id, 1L));
+		}
+		when(countryRepository.findAll()).thenReturn(List.of(country(1L)));
+		when(divisionRepository.findAll()).thenReturn(divisions);
+
+		assertThat(registry.divisionsAfter(0, 3)).extracting(Division::getId).containsExactly(2L, 4L, 6L);
+		assertThat(registry.divisionsAfter(7, 2)).extracting(Division::getId).containsExactly(8L, 10L);
+		assertThat(registry.divisionsAfter(199, 5)).extracting(Division::getId).containsExactly(200L);
+		assertThat(registry.divisionsAfter(200, 5)).isEmpty();
+	}
+
+	@Test
+	void reloadReplacesTheSnapshot() {
+		when(countryRepository.findAll()).thenReturn(List.of(country(1L)));
+		when(divisionRepository.findAll()).thenReturn(List.of(division(4L, "California", 1L)));
+		registry.load();
+
+		when(divisionRepository.findAll()).thenReturn(List.of(division(4L, "California", 1L), division(5L, "Colorado", 1L)));
+		registry.reload();
+
+		assertThat(registry.findDivision(5L)).isPresent();
+		assertThat(registry.findDivisionsOfCountry(1L).orElseThrow()).hasSize(2);
+	}
+
+	private static Country country(Long id) {
+		Country country = new Country();
+		country.setId(id);
+		country.setCountry_name("Country " + id);
+		return country;
+	}
+
+	private static Division division(Long id, String name, Long countryId) {
+		Division division = new Division(id, name);
+		division.setCountry_id(countryId);
+		return division;
+	}
+}
@@ -0,0 +1,99 @@
+package com.assessment.demo.services;
+
+import com.assessment.demo.services.SparseFieldsets.Resource;
+import com.assessment.demo.services.SparseFieldsets.Selection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SparseFieldsetsTests {
+
+	private final EntityManager entityManager = mock(EntityManager.class);
+	private final SparseFieldsets sparseFieldsets = new SparseFieldsets();
+
+	SparseFieldsetsTests() {
+		ReflectionTestUtils.setField(sparseFieldsets, "entityManager", entityManager);
+	}
+
+	@Test
+	void selectsRequestedFieldsInColumnOrderWithTheId() {
+		Selection selection = sparseFieldsets.select(Resource.VACATIONS, List.of("image_URL", " vacation_title", ""))
+				.orElseThrow();
+
+		assertThat(selection.fields()).containsExactly("id", "vacation_title", "image_URL");
+		assertThat(selection.key()).isEqualTo("id+vacation_title+image_URL");
+	}
+
+	@Test
+	void rejectsUnknownFields() {
+		assertThat(sparseFieldsets.select(Resource.VACATIONS, List.of("vacation_title", "password"))).isEmpty();
+		assertThat(sparseFieldsets.select(Resource.CUSTOMERS, List.of("vacation"))).isEmpty();
+	}
+
+	@Test
+	void embeddedObjectExpandsToAllItsFields() {
+		Selection selection = sparseFieldsets.select(Resource.CUSTOMERS, List.of("lastName", "division")).orElseThrow();
+
+		assertThat(selection.fields()).containsExactly("id", "division.id", "division.division_name",
+				"division.create_date", "division.last_update", "division.country_id", "lastName");
+	}
+
+	@Test
+	void selectsOnlyTheRequestedColumnsAndNestsEmbeddedFields() {
+		TypedQuery<Tuple> query = mockQuery(List.of(tuple(7L, "Snorkeling", 3L, "Beach"), tuple(8L, "Walk", null, null)));
+		Selection selection = sparseFieldsets.select(Resource.EXCURSIONS,
+				List.of("excursion_title", "vacation.vacation_title")).orElseThrow();
+
+		List<Map<String, Object>> rows = sparseFieldsets.findAfter(selection, 5L, 20);
+
+		verify(entityManager).createQuery("select e.id, e.excursion_title, v.id, v.vacation_title from Excursion e "
+				+ "left join e.vacation v where e.id > :after order by e.id", Tuple.class);
+		verify(query).setMaxResults(20);
+		assertThat(rows.get(0)).containsExactly(Map.entry("id", 7L), Map.entry("excursion_title", "Snorkeling"),
+				Map.entry("vacation", Map.of("id", 3L, "vacation_title", "Beach")));
+		assertThat(rows.get(1)).containsEntry("vacation", null).hasSize(3);
+	}
+
+	@Test
+	void joinsOnlyWhenAnEmbeddedFieldIsSelected() {
+		TypedQuery<Tuple> query = mockQuery(List.of());
+		Selection selection = sparseFieldsets.select(Resource.CUSTOMERS, List.of("firstName")).orElseThrow();
+
+		sparseFieldsets.findAll(selection);
+
+		verify(entityManager).createQuery("select c.id, c.firstName from Customer c order by c.id", Tuple.class);
+		verify(query).getResultList();
+	}
+
+	@SuppressWarnings("unchecked")
+	private TypedQuery<Tuple> mockQuery(List<Tuple> results) {
+		TypedQuery<Tuple> query = mock(TypedQuery.class);
+		when(entityManager.createQuery(anyString(), eq(Tuple.class))).thenReturn(query);
+		when(query.setParameter(anyString(), anyLong())).thenReturn(query);
+		when(query.setMaxResults(anyInt())).thenReturn(query);
+		when(query.getResultList()).thenReturn(results);
+		return query;
+	}
+
+	private static Tuple tuple(Object... values) {
+		Tuple tuple = mock(Tuple.class);
+		for (int i = 0; i < values.length; i++) {
+			when(tuple.get(i)).thenReturn(values[i]);
+		}
+		return tuple;
+	}
+}
@@ -0,0 +1,28 @@
+package com.assessment.demo.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SqsBookingEventTransportTests {
+
+	@Test
+	void refusesToStartTheRelayWithoutSqs() {
+		SqsService sqsService = mock(SqsService.class);
+		when(sqsService.isConfigured()).thenReturn(false);
+
+		assertThatIllegalStateException().isThrownBy(() -> new SqsBookingEventTransport(sqsService, true))
+				.withMessageContaining("aws.sqs.enabled");
+	}
+
+	@Test
+	void startsWithoutSqsWhenTheRelayIsOff() {
+		SqsService sqsService = mock(SqsService.class);
+		when(sqsService.isConfigured()).thenReturn(false);
+
+		assertThatCode(() -> new SqsBookingEventTransport(sqsService, false)).doesNotThrowAnyException();
+	}
+}
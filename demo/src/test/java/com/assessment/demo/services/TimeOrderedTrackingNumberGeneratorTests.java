@@ -0,0 +1,100 @@
+package com.assessment.demo.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedTrackingNumberGeneratorTests {
+
+	private static final long NOW = 1_735_689_600_000L; // 2025-01-01T00:00:00Z
+
+	@Test
+	void numbersSortByIssueMillisecond() {
+		AtomicLong clock = new AtomicLong(NOW);
+		TimeOrderedTrackingNumberGenerator generator = new TimeOrderedTrackingNumberGenerator(clock::get,
+				new SplittableRandom(1));
+
+		List<String> issued = new ArrayList<>();
+		for (int i = 0; i < 1_000; i++) {
+			issued.add(generator.next());
+			clock.addAndGet(1);
+		}
+
+		assertThat(issued).allMatch(number -> number.length() == 26);
+		assertThat(issued).isSorted().doesNotHaveDuplicates();
+	}
+
+	@Test
+	void numbersOfOneMillisecondShareOnlyTheTimestamp() {
+		TimeOrderedTrackingNumberGenerator generator = new TimeOrderedTrackingNumberGenerator(() -> NOW,
+				new SplittableRandom(2));
+
+		String first = generator.next();
+		String second = generator.next();
+
+		assertThat(first.substring(0, 10)).isEqualTo(second.substring(0, 10));
+		// a fresh random part, not the previous one incremented
+		assertThat(first.substring(10)).isNotEqualTo(second.substring(10));
+		assertThat(commonPrefixLength(first.substring(10), second.substring(10))).isLessThan(8);
+	}
+
+	@Test
+	void decodesTheIssueTime() {
+		TimeOrderedTrackingNumberGenerator generator = new TimeOrderedTrackingNumberGenerator(() -> NOW,
+				new SplittableRandom(3));
+
+		assertThat(TimeOrderedTrackingNumberGenerator.timestampOf(generator.next())).isEqualTo(NOW);
+	}
+
+	@Test
+	void rejectsMalformedNumbers() {
+		assertThat(TimeOrderedTrackingNumberGenerator.timestampOf(null)).isEqualTo(-1);
+		assertThat(TimeOrderedTrackingNumberGenerator.timestampOf("01JGFJJZ00")).isEqualTo(-1);
+		assertThat(TimeOrderedTrackingNumberGenerator.timestampOf("01JGFJJZ00ABCDEFGHJKMNPQRU")).isEqualTo(-1);
+		assertThat(TimeOrderedTrackingNumberGenerator.timestampOf("01jgfjjz00abcdefghjkmnpqrs")).isEqualTo(-1);
+		assertThat(TimeOrderedTrackingNumberGenerator.timestampOf("81JGFJJZ00ABCDEFGHJKMNPQRS")).isEqualTo(-1);
+		assertThat(TimeOrderedTrackingNumberGenerator.timestampOf("3fa85f64-5717-4562-b3fc-2c963f66afa6")).isEqualTo(-1);
+	}
+
+	@Test
+	void uniqueAcrossThreads() throws Exception {
+		TimeOrderedTrackingNumberGenerator generator = new TimeOrderedTrackingNumberGenerator();
+		Set<String> issued = ConcurrentHashMap.newKeySet();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 20_000; i++) {
+						issued.add(generator.next());
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertThat(issued).hasSize(8 * 20_000);
+	}
+
+	private static int commonPrefixLength(String a, String b) {
+		int i = 0;
+		while (i < a.length() && a.charAt(i) == b.charAt(i)) {
+			i++;
+		}
+		return i;
+	}
+}